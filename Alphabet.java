@@ -0,0 +1,314 @@
+import java.util.*;
+import java.util.random.*;
+
+/**The symbols a Grid can hold, and how often the fill should use each one.
+ *A cell stores a symbol's id rather than the character itself: 0 for an
+ *empty cell and 1 to size() for the symbols in order, so every cell is
+ *still one byte and comparing two cells is comparing two bytes. Symbols are
+ *Unicode code points, so letters outside the Basic Multilingual Plane (which
+ *a Java String stores as two chars) are one symbol and one cell.
+ *
+ *LATIN is A-Z with every letter equally likely, and is what a puzzle uses
+ *unless it is given another alphabet. An alphabet can also be built from
+ *the words of a puzzle (fromWords), with each symbol drawn as often as it
+ *appears in them, or from a string of symbols and optional weights. A
+ *symbol with weight 0, such as the hyphen of a word like X-WING, can be
+ *spelled but is never drawn by the fill.
+ */
+public class Alphabet {
+  /**Ids must fit in one unsigned byte, and 0 is the empty cell*/
+  public static final int MAX_SIZE = 255;
+
+  /**Code points below this are looked up in a table, the rest by search*/
+  private static final int TABLE_SIZE = 0x3100;
+
+  public static final Alphabet LATIN = new Alphabet("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+  private final int[] symbols;
+  private final int[] weights;
+  //running totals of the weights, or null when every symbol is as likely
+  private final long[] totals;
+  private final byte[] table;
+  //symbols above the table, sorted, with their ids alongside
+  private final int[] sorted;
+  private final int[] sortedIds;
+
+  /**An alphabet of the given symbols, all equally likely.*/
+  public Alphabet(String symbols) {
+    this(symbols.codePoints().toArray(), null);
+  }
+
+  /**@param symbols are the symbols in id order
+   *@param weights are how often the fill draws each symbol, relative to the
+   *others, or null for all equally often
+   */
+  public Alphabet(String symbols, int[] weights) {
+    this(symbols.codePoints().toArray(), weights);
+  }
+
+  private Alphabet(int[] symbols, int[] weights) {
+    if (symbols.length == 0 || symbols.length > MAX_SIZE) {
+      throw new IllegalArgumentException("An alphabet needs 1 to " + MAX_SIZE + " symbols, not " + symbols.length);
+    }
+    if (weights != null && weights.length != symbols.length) {
+      throw new IllegalArgumentException("Expected " + symbols.length + " weights, not " + weights.length);
+    }
+    this.symbols = symbols;
+    table = new byte[TABLE_SIZE];
+    int above = 0;
+    for (int i = 0; i < symbols.length; i++) {
+      if (symbols[i] == '_' || Character.isWhitespace(symbols[i])) {
+        throw new IllegalArgumentException("Not a symbol: '" + new String(Character.toChars(symbols[i])) + "'");
+      }
+      if (symbols[i] < TABLE_SIZE) {
+        if (table[symbols[i]] != 0) {
+          throw repeated(symbols[i]);
+        }
+        table[symbols[i]] = (byte)(i + 1);
+      } else {
+        above++;
+      }
+    }
+    sorted = new int[above];
+    sortedIds = new int[above];
+    long[] packed = new long[above];
+    for (int i = 0, n = 0; i < symbols.length; i++) {
+      if (symbols[i] >= TABLE_SIZE) {
+        packed[n] = (long)symbols[i] << 8 | (i + 1);
+        n++;
+      }
+    }
+    Arrays.sort(packed);
+    for (int n = 0; n < above; n++) {
+      sorted[n] = (int)(packed[n] >>> 8);
+      sortedIds[n] = (int)(packed[n] & 0xFF);
+      if (n > 0 && sorted[n] == sorted[n - 1]) {
+        throw repeated(sorted[n]);
+      }
+    }
+
+    boolean uniform = true;
+    if (weights != null) {
+      for (int weight : weights) {
+        if (weight < 0) {
+          throw new IllegalArgumentException("Negative weight: " + weight);
+        }
+        uniform &= weight == weights[0];
+      }
+      if (weights[0] == 0 && uniform) {
+        throw new IllegalArgumentException("At least one weight must be positive!");
+      }
+    }
+    if (uniform) {
+      this.weights = null;
+      totals = null;
+    } else {
+      this.weights = weights.clone();
+      totals = new long[weights.length];
+      long total = 0;
+      for (int i = 0; i < weights.length; i++) {
+        total += weights[i];
+        totals[i] = total;
+      }
+    }
+  }
+
+  private static IllegalArgumentException repeated(int codePoint) {
+    return new IllegalArgumentException("Repeated symbol: " + new String(Character.toChars(codePoint)));
+  }
+
+  /**@return every symbol used by the words, sorted by code point, weighted
+   *by how many times each appears in them. Symbols that are not letters
+   *(punctuation, digits) get weight 0 unless the words have no letters at
+   *all. A list with only a few different letters makes a small alphabet.
+   *Then a cell may have no letter that spells nothing, and the fill keeps
+   *the letter it drew.
+   */
+  public static Alphabet fromWords(Collection<String> words) {
+    TreeMap<Integer, Integer> counts = countSymbols(words);
+    if (counts.isEmpty()) {
+      return LATIN;
+    }
+    boolean letters = false;
+    for (int symbol : counts.keySet()) {
+      letters |= Character.isAlphabetic(symbol);
+    }
+    int[] symbols = new int[counts.size()];
+    int[] weights = new int[counts.size()];
+    int i = 0;
+    for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+      symbols[i] = count.getKey();
+      weights[i] = !letters || Character.isAlphabetic(symbols[i]) ? count.getValue() : 0;
+      i++;
+    }
+    return new Alphabet(symbols, weights);
+  }
+
+  /**@return LATIN when every word is spelt with A-Z alone, so such lists are
+   *generated exactly as before. When at least half the letters are A-Z, the
+   *alphabet is still A-Z, with the same ids, plus the other symbols of the
+   *words: other letters (such as umlauts) are drawn as often as A-Z and
+   *anything else never. Lists mostly in another script get fromWords.
+   */
+  public static Alphabet forWords(Collection<String> words) {
+    boolean latin = true;
+    for (String word : words) {
+      latin &= LATIN.canSpell(word);
+    }
+    if (latin) {
+      return LATIN;
+    }
+    TreeMap<Integer, Integer> counts = countSymbols(words);
+    long letters = 0;
+    long latinLetters = 0;
+    for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+      if (Character.isAlphabetic(count.getKey())) {
+        letters += count.getValue();
+      }
+      if (LATIN.encode(count.getKey()) > 0) {
+        latinLetters += count.getValue();
+      }
+    }
+    if (latinLetters * 2 < letters) {
+      return fromWords(words);
+    }
+    counts.keySet().removeIf(symbol -> LATIN.encode(symbol) > 0);
+    int[] symbols = Arrays.copyOf(LATIN.symbols, LATIN.size() + counts.size());
+    int[] weights = new int[symbols.length];
+    Arrays.fill(weights, 0, LATIN.size(), 1);
+    int i = LATIN.size();
+    for (int symbol : counts.keySet()) {
+      symbols[i] = symbol;
+      weights[i] = Character.isAlphabetic(symbol) ? 1 : 0;
+      i++;
+    }
+    return new Alphabet(symbols, weights);
+  }
+
+  /**@return how many times each symbol appears in the words, by code point*/
+  private static TreeMap<Integer, Integer> countSymbols(Collection<String> words) {
+    TreeMap<Integer, Integer> counts = new TreeMap<Integer, Integer>();
+    for (String word : words) {
+      word.codePoints().forEach(c -> counts.merge(c, 1, Integer::sum));
+    }
+    return counts;
+  }
+
+  /**@return the number of symbols*/
+  public int size() {
+    return symbols.length;
+  }
+
+  /**@return the id of a symbol (1 to size()), or -1 if it is not in the alphabet*/
+  public int encode(int codePoint) {
+    if (codePoint >= 0 && codePoint < TABLE_SIZE) {
+      int id = table[codePoint] & 0xFF;
+      return id == 0 ? -1 : id;
+    }
+    int at = Arrays.binarySearch(sorted, codePoint);
+    return at < 0 ? -1 : sortedIds[at];
+  }
+
+  /**@return the symbol with the given id, with '_' standing for an empty cell*/
+  public int decode(int id) {
+    return id == Grid.EMPTY ? '_' : symbols[id - 1];
+  }
+
+  /**@return the ids of a word's symbols, one per cell, or null if a symbol
+   *is not in the alphabet
+   */
+  public int[] encode(String word) {
+    int[] ids = new int[length(word)];
+    for (int i = 0, at = 0; at < word.length(); i++) {
+      int codePoint = word.codePointAt(at);
+      ids[i] = encode(codePoint);
+      if (ids[i] < 0) {
+        return null;
+      }
+      at += Character.charCount(codePoint);
+    }
+    return ids;
+  }
+
+  /**@return whether every symbol of the word is in the alphabet*/
+  public boolean canSpell(String word) {
+    for (int at = 0; at < word.length(); ) {
+      int codePoint = word.codePointAt(at);
+      if (encode(codePoint) < 0) {
+        return false;
+      }
+      at += Character.charCount(codePoint);
+    }
+    return true;
+  }
+
+  /**@return the number of cells a word takes up, which is its number of code points*/
+  public static int length(String word) {
+    return word.codePointCount(0, word.length());
+  }
+
+  /**@return whether the fill draws every symbol equally often*/
+  public boolean isUniform() {
+    return totals == null;
+  }
+
+  /**@return how often the fill draws the symbol with the given id, relative
+   *to the others
+   */
+  public int getWeight(int id) {
+    return weights == null ? 1 : weights[id - 1];
+  }
+
+  /**@return the id after the given one that the fill may draw, going round
+   *to the first after the last
+   */
+  public int next(int id) {
+    do {
+      id = id % symbols.length + 1;
+    } while (getWeight(id) == 0);
+    return id;
+  }
+
+  /**@return the fewest bits that hold every id and the empty cell*/
+  public int bitsPerSymbol() {
+    return 32 - Integer.numberOfLeadingZeros(symbols.length);
+  }
+
+  /**@return the id of a symbol drawn by weight; for a uniform alphabet this
+   *is nextInt(size()) + 1
+   */
+  public int random(RandomGenerator randgen) {
+    if (totals == null) {
+      return randgen.nextInt(symbols.length) + 1;
+    }
+    long pick = randgen.nextLong(totals[totals.length - 1]);
+    //the first symbol whose running total is past the pick
+    int low = 0;
+    int high = totals.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (totals[mid] > pick) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low + 1;
+  }
+
+  public boolean equals(Object other) {
+    if (!(other instanceof Alphabet)) {
+      return false;
+    }
+    Alphabet a = (Alphabet)other;
+    return Arrays.equals(symbols, a.symbols) && Arrays.equals(weights, a.weights);
+  }
+
+  public int hashCode() {
+    return Arrays.hashCode(symbols);
+  }
+
+  public String toString() {
+    return new String(symbols, 0, symbols.length);
+  }
+}
@@ -0,0 +1,149 @@
+import java.util.*;
+import java.util.random.*;
+
+/**Places the longest words first into precomputed candidate slots. Every
+ *(start, direction) pair that keeps a word of a given length inside the grid
+ *is computed once per length, so no time is spent on positions that cannot
+ *fit the word. The slots come from SlotCache, so puzzles of the same size
+ *share them. A slot is only used when each letter of the word is either
+ *empty or already the same letter. Since every slot is listed, grids of
+ *more than SlotCache.MAX_LIST_CELLS cells are refused.
+ *
+ *It places more words than RandomPlacement because long words go in while
+ *the grid is empty and every slot of a word is tried, not because of
+ *backtracking. Backing up can be turned on with a limit: when a word has no
+ *slot left, the last word placed before it moves to its next slot. That
+ *rarely helps, since one word's next slot out of thousands seldom frees
+ *the cells the stuck word needs. With a limit in the thousands it places
+ *about as many words at tens to hundreds of times the cost, so it is off
+ *by default.
+ */
+public class BacktrackingPlacement implements PlacementStrategy {
+  private int backtrackLimit;
+
+  /**Places each word in its first free slot and skips words with none.*/
+  public BacktrackingPlacement() {
+    this(0);
+  }
+
+  /**@param backtrackLimit is the number of times an earlier word may be moved
+   *before words with no slot left are skipped instead
+   */
+  public BacktrackingPlacement(int backtrackLimit) {
+    if (backtrackLimit < 0) {
+      throw new IllegalArgumentException("backtrackLimit must not be negative!");
+    }
+    this.backtrackLimit = backtrackLimit;
+  }
+
+  public void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded) {
+    Grid grid = puzzle.getGrid();
+    List<String> words = new ArrayList<String>(wordsToAdd);
+    PlacementStrategy.shuffle(words, randgen);
+    //stable, so words of the same length stay shuffled
+    words.sort((a, b) -> Alphabet.length(b) - Alphabet.length(a));
+
+    int n = words.size();
+    Map<Integer, int[]> slotsByLength = new HashMap<Integer, int[]>();
+    int[][] slots = new int[n][];
+    int[] offset = new int[n];
+    int[] tried = new int[n];
+    int[] placedSlot = new int[n];
+    int[][] written = new int[n][];
+    for (int k = 0; k < n; k++) {
+      int length = Alphabet.length(words.get(k));
+      if (!slotsByLength.containsKey(length)) {
+        slotsByLength.put(length, slots(grid, length, randgen));
+      }
+      slots[k] = slotsByLength.get(length);
+      offset[k] = slots[k].length == 0 ? 0 : randgen.nextInt(slots[k].length);
+      placedSlot[k] = -1;
+    }
+
+    int backtracks = backtrackLimit;
+    int k = 0;
+    while (k < n) {
+      String word = words.get(k);
+      boolean placed = false;
+      while (tried[k] < slots[k].length && !placed) {
+        int slot = slots[k][(offset[k] + tried[k]) % slots[k].length];
+        tried[k]++;
+        written[k] = place(grid, word, slot, puzzle.getMetrics());
+        if (written[k] != null) {
+          placedSlot[k] = slot;
+          placed = true;
+        }
+      }
+      if (placed) {
+        k++;
+        continue;
+      }
+      //a word that was skipped has no slot to move to, so back up to the
+      //last word that was placed, and give the skipped ones another go
+      int back = k - 1;
+      while (back >= 0 && placedSlot[back] == -1) {
+        back--;
+      }
+      if (back >= 0 && backtracks > 0) {
+        backtracks--;
+        for (int i = back + 1; i <= k; i++) {
+          tried[i] = 0;
+        }
+        k = back;
+        undo(grid, written[k]);
+        placedSlot[k] = -1;
+      } else {
+        //out of options; leave this word out
+        tried[k] = 0;
+        k++;
+      }
+    }
+
+    int firstAdded = wordsAdded.size();
+    for (int i = 0; i < n; i++) {
+      if (placedSlot[i] != -1) {
+        int start = placedSlot[i] / 8;
+        int dir = placedSlot[i] % 8;
+        puzzle.addPlacement(new Placement(words.get(i), start / grid.getCols(), start % grid.getCols(), Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+        wordsAdded.add(words.get(i));
+      }
+    }
+    PlacementStrategy.removePlaced(wordsToAdd, wordsAdded.subList(firstAdded, wordsAdded.size()));
+  }
+
+  /**@return every slot that keeps a word of the given length inside the grid,
+   *in random order. A slot packs the start index and direction as
+   *index * 8 + direction.
+   */
+  private static int[] slots(Grid grid, int length, RandomGenerator randgen) {
+    int[] slots = SlotCache.slots(grid.getRows(), grid.getCols(), length).clone();
+    PlacementStrategy.shuffle(slots, randgen);
+    return slots;
+  }
+
+  /**Writes the word into the slot if every letter is compatible.
+   *@return the indexes of the cells that were empty and now hold a letter, or
+   *null if the word does not fit
+   */
+  private static int[] place(Grid grid, String word, int slot, GenerationMetrics metrics) {
+    int blanks = grid.check(word, slot / 8, slot % 8);
+    if (metrics != null) {
+      metrics.countAttempt();
+      if (blanks < 0) {
+        metrics.countConflict();
+      }
+    }
+    if (blanks < 0) {
+      return null;
+    }
+    int[] written = new int[blanks];
+    grid.place(word, slot / 8, slot % 8, written);
+    return written;
+  }
+
+  private static void undo(Grid grid, int[] written) {
+    for (int i = 0; i < written.length; i++) {
+      grid.setCode(written[i], Grid.EMPTY);
+    }
+  }
+}
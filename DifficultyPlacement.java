@@ -0,0 +1,161 @@
+import java.util.*;
+import java.util.random.*;
+
+/**Places words so the finished puzzle lands near a target difficulty (see
+ *DifficultyScore) in one pass, instead of generating puzzles until one
+ *scores right. Before each word, the score so far decides whether it
+ *should be reversed, diagonal and crossing another word. The direction is
+ *drawn from the two that match. A word that should cross is lined up so
+ *one of its letters lands on the same letter of a word already placed;
+ *otherwise random starts that keep the word inside the grid are tried.
+ *Either way the first start that agrees with the grid and crosses (or
+ *avoids) other words as wanted is used, or failing that, the first start
+ *that fits at all. A word with no start in the wanted directions may go in
+ *any direction, and then anywhere at random. The score counts what was
+ *actually placed, so the next words make up for it.
+ *
+ *The fill reads the score too, and plants decoys (the first letters of a
+ *word) in empty cells until that fraction is on target as well.
+ */
+public class DifficultyPlacement implements PlacementStrategy {
+  private static final int[] ALL_DIRS = {0, 1, 2, 3, 4, 5, 6, 7};
+
+  private double target;
+  private int tries;
+
+  /**@param target is the difficulty to aim for, from 0 (easiest) to 1 (hardest)*/
+  public DifficultyPlacement(double target) {
+    this(target, 100);
+  }
+
+  /**@param tries is the number of random starts tried for each word*/
+  public DifficultyPlacement(double target, int tries) {
+    if (!(target >= 0 && target <= 1) || tries < 1) {
+      throw new IllegalArgumentException("target must be between 0 and 1 and tries at least 1!");
+    }
+    this.target = target;
+    this.tries = tries;
+  }
+
+  public void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded) {
+    Grid grid = puzzle.getGrid();
+    DifficultyScore score = new DifficultyScore(target);
+    puzzle.setDifficulty(score);
+    List<String> words = new ArrayList<String>(wordsToAdd);
+    PlacementStrategy.shuffle(words, randgen);
+    //longest first, while the grid is emptiest
+    words.sort((a, b) -> Alphabet.length(b) - Alphabet.length(a));
+
+    //every cell holding a letter, to line crossing words up with
+    int[] letters = new int[16];
+    int letterCount = 0;
+    int[] written = new int[0];
+    int firstAdded = wordsAdded.size();
+    for (String word : words) {
+      boolean reversed = score.wantsReversed();
+      boolean diagonal = score.wantsDiagonal();
+      boolean crossing = score.wantsCrossing();
+      int[] dirs = new int[2];
+      int count = 0;
+      for (int dir = 0; dir < 8; dir++) {
+        if (DifficultyScore.isReversed(dir) == reversed && DifficultyScore.isDiagonal(dir) == diagonal) {
+          dirs[count] = dir;
+          count++;
+        }
+      }
+      long slot = find(grid, word, dirs, crossing, letters, letterCount, randgen, puzzle.getMetrics());
+      if (slot < 0) {
+        slot = find(grid, word, ALL_DIRS, crossing, letters, letterCount, randgen, puzzle.getMetrics());
+      }
+      if (slot < 0 && crossing) {
+        slot = find(grid, word, ALL_DIRS, false, letters, letterCount, randgen, puzzle.getMetrics());
+      }
+      if (slot < 0) {
+        continue;
+      }
+      int start = (int)(slot / 8);
+      int dir = (int)(slot % 8);
+      int blanks = grid.check(word, start, dir);
+      score.countWord(dir, blanks < Alphabet.length(word));
+      if (written.length < blanks) {
+        written = new int[blanks];
+      }
+      grid.place(word, start, dir, written);
+      if (letters.length < letterCount + blanks) {
+        letters = Arrays.copyOf(letters, Math.max(letters.length * 2, letterCount + blanks));
+      }
+      System.arraycopy(written, 0, letters, letterCount, blanks);
+      letterCount += blanks;
+      puzzle.addPlacement(new Placement(word, start / grid.getCols(), start % grid.getCols(), Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+      wordsAdded.add(word);
+    }
+    PlacementStrategy.removePlaced(wordsToAdd, wordsAdded.subList(firstAdded, wordsAdded.size()));
+  }
+
+  /**Tries starts in random directions from dirs: lined up on a letter
+   *already in the grid when the word should cross, or random otherwise.
+   *@param letters are the cells holding a letter, letterCount of them
+   *@return the first slot (start * 8 + direction) that crosses another word
+   *or not as wanted, else the first slot that fits at all, else -1
+   */
+  private long find(Grid grid, String word, int[] dirs, boolean crossing, int[] letters, int letterCount,
+                   RandomGenerator randgen, GenerationMetrics metrics) {
+    int[] codes = grid.getAlphabet().encode(word);
+    if (codes == null) {
+      return -1;
+    }
+    int length = codes.length;
+    long fallback = -1;
+    for (int i = 0; i < tries; i++) {
+      int dir = dirs[randgen.nextInt(dirs.length)];
+      int row;
+      int col;
+      if (crossing && letterCount > 0) {
+        int cell = letters[randgen.nextInt(letterCount)];
+        int at = indexOf(codes, grid.getCode(cell) & 0xFF);
+        if (at < 0) {
+          continue;
+        }
+        row = cell / grid.getCols() - at * Grid.ROW_DIRS[dir];
+        col = cell % grid.getCols() - at * Grid.COL_DIRS[dir];
+        if (!grid.fits(row, col, dir, length)) {
+          continue;
+        }
+      } else {
+        long slot = SlotCache.random(grid.getRows(), grid.getCols(), length, dir, randgen);
+        if (slot < 0) {
+          continue;
+        }
+        row = (int)(slot / 8 / grid.getCols());
+        col = (int)(slot / 8 % grid.getCols());
+      }
+      int start = grid.index(row, col);
+      int blanks = grid.check(word, start, dir);
+      if (metrics != null) {
+        metrics.countAttempt();
+        if (blanks < 0) {
+          metrics.countConflict();
+        }
+      }
+      if (blanks < 0) {
+        continue;
+      }
+      if (blanks < length == crossing) {
+        return start * 8L + dir;
+      }
+      if (fallback < 0) {
+        fallback = start * 8L + dir;
+      }
+    }
+    return fallback;
+  }
+
+  private static int indexOf(int[] codes, int code) {
+    for (int i = 0; i < codes.length; i++) {
+      if (codes[i] == code) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,127 @@
+/**How hard a WordSearch is, kept up to date while it is generated by
+ *DifficultyPlacement. The score is the average of four fractions, each
+ *between 0 and 1:
+ *
+ *  reversed: words read right to left, or bottom to top
+ *  diagonal: words on a diagonal
+ *  crossing: words that share a cell with a word placed before them
+ *  decoys: partial words (a word's first letters only) planted by the
+ *  fill, per word, up to 1
+ *
+ *Only planted decoys are counted, not prefixes the random letters happen to
+ *spell. Those are too common to steer by: a 15x15 puzzle of about 25 words
+ *spells some word's first two letters about 85 times by chance, which
+ *would put the decoy fraction at 1 for every target.
+ *
+ *Each count only ever goes up by one, so the score never has to be worked
+ *out again from the grid. The same counts tell the generator which choice
+ *brings each fraction closest to the target.
+ */
+public class DifficultyScore {
+  private final double target;
+  private int words;
+  private int reversed;
+  private int diagonal;
+  private int crossing;
+  private int decoys;
+
+  /**@param target is the score to steer toward, from 0 (easiest) to 1 (hardest)*/
+  public DifficultyScore(double target) {
+    if (!(target >= 0 && target <= 1)) {
+      throw new IllegalArgumentException("Difficulty must be between 0 and 1!");
+    }
+    this.target = target;
+  }
+
+  /**@return true for the directions read against the usual order: right to
+   *left, or straight up
+   */
+  static boolean isReversed(int dir) {
+    return Grid.COL_DIRS[dir] < 0 || Grid.COL_DIRS[dir] == 0 && Grid.ROW_DIRS[dir] < 0;
+  }
+
+  static boolean isDiagonal(int dir) {
+    return Grid.ROW_DIRS[dir] != 0 && Grid.COL_DIRS[dir] != 0;
+  }
+
+  void countWord(int dir, boolean crosses) {
+    words++;
+    if (isReversed(dir)) {
+      reversed++;
+    }
+    if (isDiagonal(dir)) {
+      diagonal++;
+    }
+    if (crosses) {
+      crossing++;
+    }
+  }
+
+  void countDecoy() {
+    decoys++;
+  }
+
+  /**@return whether the next word should be reversed to stay on target*/
+  boolean wantsReversed() {
+    return wants(reversed, words);
+  }
+
+  boolean wantsDiagonal() {
+    return wants(diagonal, words);
+  }
+
+  boolean wantsCrossing() {
+    return wants(crossing, words);
+  }
+
+  /**@return whether the fill should plant another decoy*/
+  boolean wantsDecoy() {
+    return decoys < words && wants(decoys, words - 1);
+  }
+
+  /**@return true when counting one more of total + 1 leaves the fraction
+   *nearer the target than not counting it
+   */
+  private boolean wants(int count, int total) {
+    return count + 0.5 < target * (total + 1);
+  }
+
+  public double getTarget() {
+    return target;
+  }
+
+  public double getScore() {
+    if (words == 0) {
+      return 0;
+    }
+    return (reversed + diagonal + crossing + Math.min(decoys, words)) / (4.0 * words);
+  }
+
+  public int getWords() {
+    return words;
+  }
+
+  public int getReversed() {
+    return reversed;
+  }
+
+  public int getDiagonal() {
+    return diagonal;
+  }
+
+  public int getCrossing() {
+    return crossing;
+  }
+
+  /**@return the decoys the fill planted, which may be fewer than the
+   *prefixes the finished grid spells
+   */
+  public int getDecoys() {
+    return decoys;
+  }
+
+  public String toString() {
+    return "score=" + getScore() + " target=" + target + " words=" + words + " reversed=" + reversed +
+      " diagonal=" + diagonal + " crossing=" + crossing + " decoys=" + decoys;
+  }
+}
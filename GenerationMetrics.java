@@ -0,0 +1,129 @@
+/**Counters and timers for generating one WordSearch. They are only kept when
+ *WordSearchOptions.setCollectMetrics(true) is used; otherwise the puzzle has
+ *no metrics and every hot path skips them with a single null check.
+ *Metrics from many puzzles can be summed with add.
+ */
+public class GenerationMetrics {
+  private long puzzles;
+  private long addWordAttempts;
+  private long outOfBounds;
+  private long conflicts;
+  private long zeroDirections;
+  private long wordsPlaced;
+  private long wordsDropped;
+  private long lettersRepicked;
+  private long placementNanos;
+  private long fillNanos;
+  private long renderNanos;
+
+  /**Adds another puzzle's (or another total's) metrics to these.*/
+  public synchronized void add(GenerationMetrics other) {
+    synchronized (other) {
+      puzzles += other.puzzles;
+      addWordAttempts += other.addWordAttempts;
+      outOfBounds += other.outOfBounds;
+      conflicts += other.conflicts;
+      zeroDirections += other.zeroDirections;
+      wordsPlaced += other.wordsPlaced;
+      wordsDropped += other.wordsDropped;
+      lettersRepicked += other.lettersRepicked;
+      placementNanos += other.placementNanos;
+      fillNanos += other.fillNanos;
+      renderNanos += other.renderNanos;
+    }
+  }
+
+  //a puzzle is generated on one thread, so these are not synchronized
+
+  void countAttempt() {
+    addWordAttempts++;
+  }
+
+  void countOutOfBounds() {
+    outOfBounds++;
+  }
+
+  void countConflict() {
+    conflicts++;
+  }
+
+  void countZeroDirection() {
+    zeroDirections++;
+  }
+
+  void countRepick() {
+    lettersRepicked++;
+  }
+
+  void finishPlacement(int placed, int dropped, long nanos) {
+    puzzles++;
+    wordsPlaced += placed;
+    wordsDropped += dropped;
+    placementNanos += nanos;
+  }
+
+  void addFillTime(long nanos) {
+    fillNanos += nanos;
+  }
+
+  synchronized void addRenderTime(long nanos) {
+    renderNanos += nanos;
+  }
+
+  public synchronized long getPuzzles() {
+    return puzzles;
+  }
+
+  /**@return how many times a word was tried at a position*/
+  public synchronized long getAddWordAttempts() {
+    return addWordAttempts;
+  }
+
+  /**@return attempts rejected because the word ran off the grid*/
+  public synchronized long getOutOfBounds() {
+    return outOfBounds;
+  }
+
+  /**@return attempts rejected because a letter disagreed with the grid*/
+  public synchronized long getConflicts() {
+    return conflicts;
+  }
+
+  /**@return attempts rejected because both increments were 0*/
+  public synchronized long getZeroDirections() {
+    return zeroDirections;
+  }
+
+  public synchronized long getWordsPlaced() {
+    return wordsPlaced;
+  }
+
+  /**@return words that were still unplaced when the strategy gave up*/
+  public synchronized long getWordsDropped() {
+    return wordsDropped;
+  }
+
+  /**@return random letters replaced because they spelled a word*/
+  public synchronized long getLettersRepicked() {
+    return lettersRepicked;
+  }
+
+  public synchronized long getPlacementNanos() {
+    return placementNanos;
+  }
+
+  public synchronized long getFillNanos() {
+    return fillNanos;
+  }
+
+  public synchronized long getRenderNanos() {
+    return renderNanos;
+  }
+
+  public synchronized String toString() {
+    return "puzzles=" + puzzles + " attempts=" + addWordAttempts + " outOfBounds=" + outOfBounds +
+      " conflicts=" + conflicts + " zeroDirections=" + zeroDirections + " placed=" + wordsPlaced +
+      " dropped=" + wordsDropped + " repicked=" + lettersRepicked + " placementMs=" + placementNanos / 1e6 +
+      " fillMs=" + fillNanos / 1e6 + " renderMs=" + renderNanos / 1e6;
+  }
+}
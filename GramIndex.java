@@ -0,0 +1,181 @@
+import java.util.*;
+
+/**Every run of LENGTH cells in a grid, indexed by its letters, so the copies
+ *of a word can be found without reading the whole grid. Runs are only kept
+ *in the four forward directions (right, down and the two down diagonals),
+ *since a word read backwards is its reverse read forwards. A run that
+ *would leave the grid is cut short, so every cell starts one run per
+ *direction, and a run may hold empty cells.
+ *
+ *Runs are chained into hash buckets through two ints per run, so a run is
+ *taken out without walking its bucket (there are only so many different
+ *runs of three letters, so a bucket can hold thousands in a large grid).
+ *With four runs per cell and a bucket for about every cell, that is 36
+ *bytes a cell. Whoever changes the grid calls remove before a cell
+ *changes and add after, which moves the 4 * LENGTH runs through that cell
+ *to their new buckets.
+ */
+public class GramIndex {
+  static final int LENGTH = 3;
+
+  /**The most cells a grid can have and still number each run with an int*/
+  static final int MAX_CELLS = Integer.MAX_VALUE / 4;
+
+  private static final int[] AXES = {4, 5, 6, 7};
+
+  /**Stands for a cell past the edge of the grid*/
+  private static final int OUTSIDE = 256;
+
+  private final Grid grid;
+  private final int[] heads;
+  private final int[] next;
+  private final int[] previous;
+  private final int shift;
+
+  /**Indexes every run of the grid as it is now.
+   *@throws IllegalArgumentException if the grid has more than MAX_CELLS cells
+   */
+  public GramIndex(Grid grid) {
+    if (grid.size() > MAX_CELLS) {
+      throw new IllegalArgumentException("Too many cells to index: " + grid.getRows() + "x" + grid.getCols());
+    }
+    this.grid = grid;
+    //a bucket per cell, up to 2^27 of them
+    int bits = Math.min(27, Math.max(4, 32 - Integer.numberOfLeadingZeros(grid.size())));
+    shift = 32 - bits;
+    heads = new int[1 << bits];
+    Arrays.fill(heads, -1);
+    next = new int[grid.size() * 4];
+    previous = new int[next.length];
+    for (int run = 0; run < next.length; run++) {
+      link(run);
+    }
+  }
+
+  /**Takes the runs through a cell out of their buckets; call before the
+   *cell changes
+   */
+  public void remove(int index) {
+    update(index, false);
+  }
+
+  /**Puts the runs through a cell into their buckets; call after the cell
+   *changes
+   */
+  public void add(int index) {
+    update(index, true);
+  }
+
+  private void update(int index, boolean add) {
+    int row = index / grid.getCols();
+    int col = index % grid.getCols();
+    for (int axis = 0; axis < AXES.length; axis++) {
+      int dir = AXES[axis];
+      for (int back = 0; back < LENGTH; back++) {
+        int r = row - back * Grid.ROW_DIRS[dir];
+        int c = col - back * Grid.COL_DIRS[dir];
+        if (r < 0 || c < 0 || c >= grid.getCols()) {
+          break;
+        }
+        int run = grid.index(r, c) * 4 + axis;
+        if (add) {
+          link(run);
+        } else {
+          unlink(run);
+        }
+      }
+    }
+  }
+
+  /**@return every place the grid spells the word, in all 8 directions, as
+   *WordSearchSolver.solve finds them: a palindrome only from the end it
+   *reads forwards from
+   *@throws IllegalArgumentException if the word is shorter than LENGTH
+   */
+  public List<Placement> find(String word) {
+    int[] codes = grid.getAlphabet().encode(word);
+    List<Placement> copies = new ArrayList<Placement>();
+    if (codes == null) {
+      return copies;
+    }
+    if (codes.length < LENGTH) {
+      throw new IllegalArgumentException("Too short to look up: " + word);
+    }
+    int[] reversed = new int[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      reversed[i] = codes[codes.length - 1 - i];
+    }
+    int cols = grid.getCols();
+    int[][] targets = Arrays.equals(codes, reversed) ? new int[][] {codes} : new int[][] {codes, reversed};
+    for (int[] target : targets) {
+      int gram = 0;
+      for (int i = 0; i < LENGTH; i++) {
+        gram = gram << 9 | target[i];
+      }
+      for (int run = heads[bucket(gram)]; run >= 0; run = next[run]) {
+        int start = run / 4;
+        int dir = AXES[run % 4];
+        int row = start / cols;
+        int col = start % cols;
+        if (!grid.fits(row, col, dir, target.length) || !spells(start, grid.stride(dir), target)) {
+          continue;
+        }
+        if (target == codes) {
+          copies.add(new Placement(word, row, col, Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+        } else {
+          int last = target.length - 1;
+          copies.add(new Placement(word, row + last * Grid.ROW_DIRS[dir], col + last * Grid.COL_DIRS[dir],
+                                   -Grid.ROW_DIRS[dir], -Grid.COL_DIRS[dir]));
+        }
+      }
+    }
+    return copies;
+  }
+
+  private boolean spells(int start, int stride, int[] codes) {
+    for (int i = 0; i < codes.length; i++) {
+      if ((grid.getCode(start + i * stride) & 0xFF) != codes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**@return the letters of a run, 9 bits each, with OUTSIDE past the edge*/
+  private int gram(int run) {
+    int dir = AXES[run % 4];
+    int row = run / 4 / grid.getCols();
+    int col = run / 4 % grid.getCols();
+    int gram = 0;
+    for (int i = 0; i < LENGTH; i++, row += Grid.ROW_DIRS[dir], col += Grid.COL_DIRS[dir]) {
+      boolean inside = row < grid.getRows() && col >= 0 && col < grid.getCols();
+      gram = gram << 9 | (inside ? grid.getCode(grid.index(row, col)) & 0xFF : OUTSIDE);
+    }
+    return gram;
+  }
+
+  private int bucket(int gram) {
+    return gram * 0x9E3779B9 >>> shift;
+  }
+
+  private void link(int run) {
+    int bucket = bucket(gram(run));
+    next[run] = heads[bucket];
+    previous[run] = -1;
+    if (heads[bucket] >= 0) {
+      previous[heads[bucket]] = run;
+    }
+    heads[bucket] = run;
+  }
+
+  private void unlink(int run) {
+    if (previous[run] >= 0) {
+      next[previous[run]] = next[run];
+    } else {
+      heads[bucket(gram(run))] = next[run];
+    }
+    if (next[run] >= 0) {
+      previous[next[run]] = previous[run];
+    }
+  }
+}
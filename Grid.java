@@ -0,0 +1,190 @@
+/**The letters of a WordSearch, stored row-major in one byte array. A cell is
+ *0 when it is empty and otherwise holds a symbol's id in the grid's Alphabet
+ *(1-26 for the letters A-Z in the default one), so cell (row, col) lives at
+ *index row * cols + col and moving one letter in a direction is always the
+ *same step (stride) through the array. MappedGrid keeps the same layout in a
+ *memory-mapped file instead of on the heap.
+ */
+public class Grid {
+  /**The 8 directions a word can run in, as row and column increments.*/
+  static final int[] ROW_DIRS = {-1, -1, -1, 0, 0, 1, 1, 1};
+  static final int[] COL_DIRS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+  static final byte EMPTY = 0;
+
+  private final Alphabet alphabet;
+  private final byte[] cells;
+  private final int size;
+  private final int rows;
+  private final int cols;
+  private final int[] strides;
+
+  public Grid(int rows, int cols) {
+    this(rows, cols, Alphabet.LATIN, true);
+  }
+
+  public Grid(int rows, int cols, Alphabet alphabet) {
+    this(rows, cols, alphabet, true);
+  }
+
+  /**@param allocate is false for subclasses that store the cells themselves*/
+  protected Grid(int rows, int cols, Alphabet alphabet, boolean allocate) {
+    if (rows < 0 || cols < 0) {
+      throw new IllegalArgumentException("Grid dimensions out of bounds!");
+    }
+    if ((long)rows * cols > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid is too large: " + rows + "x" + cols);
+    }
+    this.alphabet = alphabet;
+    this.rows = rows;
+    this.cols = cols;
+    size = rows * cols;
+    cells = allocate ? new byte[size] : null;
+    strides = new int[8];
+    for (int dir = 0; dir < 8; dir++) {
+      strides[dir] = ROW_DIRS[dir] * cols + COL_DIRS[dir];
+    }
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getCols() {
+    return cols;
+  }
+
+  public Alphabet getAlphabet() {
+    return alphabet;
+  }
+
+  /**@return the number of cells in the grid*/
+  public int size() {
+    return size;
+  }
+
+  public int index(int row, int col) {
+    return row * cols + col;
+  }
+
+  /**@return the distance between consecutive letters in the given direction*/
+  public int stride(int dir) {
+    return strides[dir];
+  }
+
+  /**@return the direction (0-7) with the given increments, or -1 if both
+   *increments are 0 or either is not -1, 0 or 1
+   */
+  public static int direction(int rowIncrement, int colIncrement) {
+    if (rowIncrement < -1 || rowIncrement > 1 || colIncrement < -1 || colIncrement > 1) {
+      return -1;
+    }
+    int dir = (rowIncrement + 1) * 3 + colIncrement + 1;
+    if (dir == 4) {
+      return -1;
+    }
+    return dir > 4 ? dir - 1 : dir;
+  }
+
+  /**@return the code stored for a letter (its id in the alphabet), or -1 if
+   *it is not in the alphabet
+   */
+  public int encode(int letter) {
+    return alphabet.encode(letter);
+  }
+
+  /**@return the letter (a code point) for a code, with '_' standing for an
+   *empty cell
+   */
+  public int decode(int code) {
+    return alphabet.decode(code & 0xFF);
+  }
+
+  /**@return the code in a cell; codes above 127 come back negative, so
+   *compare them with & 0xFF
+   */
+  public byte getCode(int index) {
+    return cells[index];
+  }
+
+  public void setCode(int index, int code) {
+    cells[index] = (byte)code;
+  }
+
+  /**@return the code point of the letter in a cell, or '_' if it is empty*/
+  public int get(int row, int col) {
+    return decode(getCode(index(row, col)));
+  }
+
+  /**Sets a cell to a letter (a code point), or empties it when given '_'*/
+  public void set(int row, int col, int letter) {
+    int code = letter == '_' ? EMPTY : encode(letter);
+    if (code < 0) {
+      throw new IllegalArgumentException("Not a letter: " + letter);
+    }
+    setCode(index(row, col), code);
+  }
+
+  public void clear() {
+    java.util.Arrays.fill(cells, EMPTY);
+  }
+
+  /**@return true when a word of the given length (in cells, see
+   *Alphabet.length) starting at (row, col) stays inside the grid in the
+   *given direction
+   */
+  public boolean fits(int row, int col, int dir, int length) {
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      return false;
+    }
+    if (length == 0) {
+      return true;
+    }
+    int endRow = row + (length - 1) * ROW_DIRS[dir];
+    int endCol = col + (length - 1) * COL_DIRS[dir];
+    return endRow >= 0 && endRow < rows && endCol >= 0 && endCol < cols;
+  }
+
+  /**Checks the letters of a word against the cells it would cover. The caller
+   *must already know the word fits.
+   *@return the number of empty cells the word would fill, or -1 if a letter
+   *is not in the alphabet or disagrees with a letter already in the grid
+   */
+  public int check(String word, int start, int dir) {
+    int stride = strides[dir];
+    int blanks = 0;
+    for (int i = 0, index = start; i < word.length(); index += stride) {
+      int letter = word.codePointAt(i);
+      i += Character.charCount(letter);
+      int code = alphabet.encode(letter);
+      int current = getCode(index) & 0xFF;
+      if (code < 0 || current != EMPTY && current != code) {
+        return -1;
+      }
+      if (current == EMPTY) {
+        blanks++;
+      }
+    }
+    return blanks;
+  }
+
+  /**Writes a word that has already passed check.
+   *@param written receives the index of every cell that was empty before, or
+   *is null if the caller does not need them
+   */
+  public void place(String word, int start, int dir, int[] written) {
+    int stride = strides[dir];
+    int blanks = 0;
+    for (int i = 0, index = start; i < word.length(); index += stride) {
+      int letter = word.codePointAt(i);
+      i += Character.charCount(letter);
+      if (getCode(index) == EMPTY) {
+        if (written != null) {
+          written[blanks] = index;
+        }
+        blanks++;
+      }
+      setCode(index, alphabet.encode(letter));
+    }
+  }
+}
@@ -0,0 +1,45 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+/**A Grid whose cells live in a memory-mapped file instead of on the heap, so
+ *boards far larger than the heap can be generated. The file is created (or
+ *truncated) and sized to one byte per cell; a fresh file is all zeros, which
+ *is an empty grid. The operating system pages cells in and out as needed.
+ */
+public class MappedGrid extends Grid {
+  private final MappedByteBuffer cells;
+
+  public MappedGrid(int rows, int cols, Path file) throws IOException {
+    this(rows, cols, Alphabet.LATIN, file);
+  }
+
+  public MappedGrid(int rows, int cols, Alphabet alphabet, Path file) throws IOException {
+    super(rows, cols, alphabet, false);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      //the mapping stays valid after the channel is closed
+      cells = channel.map(FileChannel.MapMode.READ_WRITE, 0, size());
+    }
+  }
+
+  public byte getCode(int index) {
+    return cells.get(index);
+  }
+
+  public void setCode(int index, int code) {
+    cells.put(index, (byte)code);
+  }
+
+  public void clear() {
+    for (int i = 0; i < size(); i++) {
+      cells.put(i, EMPTY);
+    }
+  }
+
+  /**Writes any changed cells back to the file.*/
+  public void force() {
+    cells.force();
+  }
+}
@@ -0,0 +1,42 @@
+/**Where a word was written into a WordSearch: its first letter is at
+ *(row, col) and each following letter is rowIncrement, colIncrement further on.
+ */
+public class Placement {
+  private final String word;
+  private final int row;
+  private final int col;
+  private final int rowIncrement;
+  private final int colIncrement;
+
+  public Placement(String word, int row, int col, int rowIncrement, int colIncrement) {
+    this.word = word;
+    this.row = row;
+    this.col = col;
+    this.rowIncrement = rowIncrement;
+    this.colIncrement = colIncrement;
+  }
+
+  public String getWord() {
+    return word;
+  }
+
+  public int getRow() {
+    return row;
+  }
+
+  public int getCol() {
+    return col;
+  }
+
+  public int getRowIncrement() {
+    return rowIncrement;
+  }
+
+  public int getColIncrement() {
+    return colIncrement;
+  }
+
+  public String toString() {
+    return word + " at (" + row + ", " + col + ") going (" + rowIncrement + ", " + colIncrement + ")";
+  }
+}
@@ -0,0 +1,57 @@
+import java.util.*;
+import java.util.random.*;
+
+/**Decides where the words of a WordSearch go. A strategy is handed the empty
+ *puzzle and moves every word it manages to place from wordsToAdd to
+ *wordsAdded, in the order they were placed. All randomness must come from
+ *randgen so the puzzle can be reproduced from its seed.
+ */
+public interface PlacementStrategy {
+  void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded);
+
+  /**Shuffles the list with the same swaps as Collections.shuffle, which
+   *only takes a Random.
+   */
+  static void shuffle(List<?> list, RandomGenerator randgen) {
+    for (int i = list.size(); i > 1; i--) {
+      Collections.swap(list, i - 1, randgen.nextInt(i));
+    }
+  }
+
+  /**Shuffles the array with the same swaps as shuffle(List)*/
+  static void shuffle(int[] array, RandomGenerator randgen) {
+    for (int i = array.length; i > 1; i--) {
+      int j = randgen.nextInt(i);
+      int temp = array[i - 1];
+      array[i - 1] = array[j];
+      array[j] = temp;
+    }
+  }
+
+  /**Takes the words that were placed out of wordsToAdd, one copy for each
+   *time a word was placed, as wordsToAdd.remove would. It is one pass over
+   *the list, where a remove per word is quadratic in the number of words.
+   */
+  static void removePlaced(List<String> wordsToAdd, List<String> placed) {
+    if (placed.isEmpty()) {
+      return;
+    }
+    Map<String, Integer> pending = new HashMap<String, Integer>();
+    for (String word : placed) {
+      pending.merge(word, 1, Integer::sum);
+    }
+    List<String> left = new ArrayList<String>(wordsToAdd.size() - placed.size());
+    for (String word : wordsToAdd) {
+      Integer count = pending.get(word);
+      if (count == null) {
+        left.add(word);
+      } else if (count == 1) {
+        pending.remove(word);
+      } else {
+        pending.put(word, count - 1);
+      }
+    }
+    wordsToAdd.clear();
+    wordsToAdd.addAll(left);
+  }
+}
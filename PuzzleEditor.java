@@ -0,0 +1,601 @@
+import java.util.*;
+import java.util.random.*;
+
+/**Changes a finished WordSearch in place: words can be added, removed and
+ *moved, and every change can be undone and redone. Only the cells under and
+ *around the word being changed are touched, so each change costs time in
+ *proportion to the word, not the grid. Removing a word also closes the gap
+ *it leaves in the word list.
+ *
+ *A word being added may already be spelled somewhere. Its copies are
+ *looked up in a GramIndex of the grid, which is built the first time a
+ *word is added and then kept up to date with every cell the editor
+ *changes. A word shorter than GramIndex.LENGTH (or a grid too large to
+ *index) is looked for by reading the whole grid instead; such a word is
+ *spelled about once every few hundred cells anyway.
+ *
+ *The editor counts how many placed words cover each cell. A word may be
+ *written over random letters but must agree with letters that belong to
+ *other words, and when a word is removed, the cells no other word covers
+ *are filled with new random letters (or emptied, in a key). The new letters
+ *are checked like the original fill, so they do not spell another copy of
+ *a word that is or ever was in the puzzle, or of a blocked word. Writing a
+ *word can make the random letters around it spell something, and a word
+ *that is new to the puzzle may already be spelled by random letters, so
+ *those random letters are redrawn the same way. A word cannot go where the
+ *grid would then spell it twice, or spell another copy of any word through
+ *the letters it changed, since no random letter is left to redraw. The
+ *words the puzzle started with are only indexed once, when the first cell
+ *is checked. Words added later go into checkers of 1, 2, 4, ... words: a
+ *new word joins the smallest ones until the sizes are distinct again, so
+ *each word is indexed about log n times over n additions rather than n.
+ *
+ *Every change is logged as the placements before and after it plus the
+ *index, old letter and new letter of each cell it touched, packed into one
+ *long per cell. Undo puts back the old letters and redo the new ones, so
+ *neither draws random letters again.
+ *
+ *The editor must be the only thing changing the puzzle while it is in use.
+ */
+public class PuzzleEditor {
+  private final WordSearch puzzle;
+  private final Grid grid;
+  private final short[] cover;
+  private final boolean filled;
+  private final SplittableRandom randgen;
+  private final Set<String> banned;
+  private int longest;
+  private final List<String> startingWords;
+  private WordSearchSolver startingChecker;
+  /**Words added since the editor was made; level i holds 2^i words or none*/
+  private final List<List<String>> newWords;
+  private final List<WordSearchSolver> newCheckers;
+  /**The word being added, until it is known to stay*/
+  private WordSearchSolver pendingChecker;
+  private GramIndex grams;
+  private final Map<String, Integer> placementIndex;
+  private boolean placementIndexStale;
+  private final ArrayDeque<Edit> undo;
+  private final ArrayDeque<Edit> redo;
+
+  public PuzzleEditor(WordSearch puzzle) {
+    this(puzzle, Collections.<String>emptyList());
+  }
+
+  /**@param blocklist are words that refilled cells must not spell, as in
+   *WordSearchOptions.setBlocklist
+   */
+  public PuzzleEditor(WordSearch puzzle, Collection<String> blocklist) {
+    this.puzzle = puzzle;
+    grid = puzzle.getGrid();
+    cover = new short[grid.size()];
+    for (Placement p : puzzle.getPlacements()) {
+      int stride = grid.stride(direction(p));
+      int index = grid.index(p.getRow(), p.getCol());
+      for (int i = Alphabet.length(p.getWord()); i > 0; i--, index += stride) {
+        cover[index]++;
+      }
+    }
+    //a key leaves the cells no word covers empty
+    boolean empty = false;
+    for (int i = 0; i < grid.size() && !empty; i++) {
+      empty = grid.getCode(i) == Grid.EMPTY;
+    }
+    filled = !empty;
+    randgen = new SplittableRandom(puzzle.getSeed());
+    startingWords = new ArrayList<String>(puzzle.getWordsAdded());
+    startingWords.addAll(blocklist);
+    banned = new HashSet<String>(startingWords);
+    for (String word : banned) {
+      longest = Math.max(longest, Alphabet.length(word));
+    }
+    newWords = new ArrayList<List<String>>();
+    newCheckers = new ArrayList<WordSearchSolver>();
+    placementIndex = new HashMap<String, Integer>();
+    placementIndexStale = true;
+    undo = new ArrayDeque<Edit>();
+    redo = new ArrayDeque<Edit>();
+  }
+
+  public WordSearch getPuzzle() {
+    return puzzle;
+  }
+
+  /**Adds a word to the puzzle, after the words already in it.
+   *@return false if the word is empty or already in the puzzle, the
+   *direction is not one of the 8, the word does not fit, it disagrees with
+   *a letter that belongs to another word, or the grid would spell a word
+   *twice
+   */
+  public boolean addWord(String word, int row, int col, int rowIncrement, int colIncrement) {
+    if (word.isEmpty() || find(word) >= 0) {
+      return false;
+    }
+    Placement p = new Placement(word, row, col, rowIncrement, colIncrement);
+    long[] cells = place(p, true);
+    if (cells == null) {
+      return false;
+    }
+    Edit edit = new Edit(null, p, puzzle.getWordsAdded().size(), puzzle.getPlacements().size(), 0, Alphabet.length(word), cells);
+    list(edit, true);
+    log(edit);
+    return true;
+  }
+
+  /**Adds a word at the first of a number of random positions where it can
+   *go. Only starts that keep the word inside the grid are drawn (see
+   *SlotCache.random).
+   *@return false if the word is already in the puzzle or none of the
+   *positions worked
+   */
+  public boolean addWord(String word, RandomGenerator randgen, int tries) {
+    int length = Alphabet.length(word);
+    for (int i = 0; i < tries && length > 0; i++) {
+      int dir = randgen.nextInt(8);
+      long slot = SlotCache.random(grid.getRows(), grid.getCols(), length, dir, randgen);
+      if (slot < 0) {
+        continue;
+      }
+      int start = (int)(slot / 8);
+      if (addWord(word, start / grid.getCols(), start % grid.getCols(), Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**Takes a word out of the puzzle and refills the cells only it covered.
+   *@return false if the word is not in the puzzle
+   */
+  public boolean removeWord(String word) {
+    int index = find(word);
+    if (index < 0) {
+      return false;
+    }
+    Placement p = puzzle.getPlacements().get(index);
+    long[] cells = erase(p);
+    Edit edit = new Edit(p, null, puzzle.getWordsAdded().indexOf(word), index, cells.length, 0, cells);
+    list(edit, true);
+    log(edit);
+    return true;
+  }
+
+  /**Moves a word to a new position, keeping its place in the word list.
+   *@return false, leaving the puzzle as it was, if the word is not in the
+   *puzzle or cannot go at the new position (as for addWord)
+   */
+  public boolean moveWord(String word, int row, int col, int rowIncrement, int colIncrement) {
+    int index = find(word);
+    int dir = Grid.direction(rowIncrement, colIncrement);
+    if (index < 0 || dir < 0 || !grid.fits(row, col, dir, Alphabet.length(word))) {
+      return false;
+    }
+    Placement before = puzzle.getPlacements().get(index);
+    Placement after = new Placement(word, row, col, rowIncrement, colIncrement);
+    long[] erased = erase(before);
+    long[] placed = place(after, false);
+    if (placed == null) {
+      revert(erased, erased.length, 0);
+      return false;
+    }
+    long[] cells = concat(erased, placed);
+    Edit edit = new Edit(before, after, -1, index, erased.length, Alphabet.length(word), cells);
+    list(edit, true);
+    log(edit);
+    return true;
+  }
+
+  public boolean canUndo() {
+    return !undo.isEmpty();
+  }
+
+  public boolean canRedo() {
+    return !redo.isEmpty();
+  }
+
+  /**Reverts the last change that has not been undone yet.
+   *@return false if there is nothing to undo
+   */
+  public boolean undo() {
+    Edit edit = undo.pollFirst();
+    if (edit == null) {
+      return false;
+    }
+    revert(edit.cells, edit.removed, edit.written);
+    list(edit, false);
+    redo.addFirst(edit);
+    return true;
+  }
+
+  /**Makes the last undone change again, with the same letters.
+   *@return false if there is nothing to redo
+   */
+  public boolean redo() {
+    Edit edit = redo.pollFirst();
+    if (edit == null) {
+      return false;
+    }
+    replay(edit.cells, edit.removed, edit.written);
+    list(edit, true);
+    undo.addFirst(edit);
+    return true;
+  }
+
+  private void log(Edit edit) {
+    undo.addFirst(edit);
+    redo.clear();
+  }
+
+  /**@return where a listed word is among the placements, or -1 if it is not
+   *listed. A word can also have been written without being listed (see
+   *RandomPlacement); the listed copy is always the later one.
+   */
+  private int find(String word) {
+    if (placementIndexStale) {
+      placementIndex.clear();
+      List<Placement> placements = puzzle.getPlacements();
+      for (int i = 0; i < placements.size(); i++) {
+        placementIndex.put(placements.get(i).getWord(), i);
+      }
+      placementIndex.keySet().retainAll(new HashSet<String>(puzzle.getWordsAdded()));
+      placementIndexStale = false;
+    }
+    Integer index = placementIndex.get(word);
+    return index == null ? -1 : index;
+  }
+
+  /**Writes a placement's letters into the grid if it can go there.
+   *@return the log of its cells, or null if it cannot go there
+   */
+  private long[] write(Placement p) {
+    int[] codes = grid.getAlphabet().encode(p.getWord());
+    int dir = direction(p);
+    if (codes == null || dir < 0 || !grid.fits(p.getRow(), p.getCol(), dir, codes.length)) {
+      return null;
+    }
+    int stride = grid.stride(dir);
+    long[] cells = new long[codes.length];
+    for (int i = 0, index = grid.index(p.getRow(), p.getCol()); i < codes.length; i++, index += stride) {
+      int code = codes[i];
+      int current = grid.getCode(index) & 0xFF;
+      if (cover[index] > 0 && current != code) {
+        return null;
+      }
+      cells[i] = pack(index, current, code);
+    }
+    replay(cells, 0, cells.length);
+    return cells;
+  }
+
+  /**Writes a placement's letters into the grid, then redraws the random
+   *letters that spell a word because of it: any on the lines through the
+   *letters it changed and, for a word being added, any in another copy of
+   *it elsewhere in the grid. A word being added is banned from then on.
+   *@param add is whether the word is being added rather than moved
+   *@return the log of the word's cells followed by the cells redrawn, or
+   *null, leaving the grid as it was, if the word cannot go there
+   */
+  private long[] place(Placement p, boolean add) {
+    long[] written = write(p);
+    if (written == null) {
+      return null;
+    }
+    String word = p.getWord();
+    Set<Integer> suspects = new LinkedHashSet<Integer>();
+    if (add) {
+      for (Placement copy : copies(word)) {
+        if (sameCells(copy, p)) {
+          continue;
+        }
+        //a copy in other words' letters alone cannot be redrawn
+        boolean random = false;
+        int stride = grid.stride(direction(copy));
+        int index = grid.index(copy.getRow(), copy.getCol());
+        for (int i = written.length; i > 0; i--, index += stride) {
+          if (cover[index] == 0) {
+            suspects.add(index);
+            random = true;
+          }
+        }
+        if (!random) {
+          revert(written, 0, written.length);
+          return null;
+        }
+      }
+    }
+    int rows = grid.getRows();
+    int cols = grid.getCols();
+    for (long cell : written) {
+      int index = (int)(cell >>> 16);
+      if (!changed(cell) || !filled) {
+        continue;
+      }
+      for (int dir = 0; dir < 8; dir++) {
+        int row = index / cols + Grid.ROW_DIRS[dir];
+        int col = index % cols + Grid.COL_DIRS[dir];
+        for (int i = 1; i < longest && row >= 0 && row < rows && col >= 0 && col < cols; i++) {
+          int next = grid.index(row, col);
+          if (cover[next] == 0) {
+            suspects.add(next);
+          }
+          row += Grid.ROW_DIRS[dir];
+          col += Grid.COL_DIRS[dir];
+        }
+      }
+    }
+    boolean first = add && banned.add(word);
+    if (first) {
+      pendingChecker = new WordSearchSolver(Collections.singleton(word), grid.getAlphabet());
+      longest = Math.max(longest, written.length);
+    }
+    long[] cells = Arrays.copyOf(written, written.length + suspects.size());
+    int count = written.length;
+    for (int index : suspects) {
+      if (spellsWordThrough(index)) {
+        int old = grid.getCode(index);
+        refill(index);
+        cells[count] = pack(index, old, grid.getCode(index));
+        count++;
+      }
+    }
+    cells = Arrays.copyOf(cells, count);
+    //what is still spelled through the changed letters uses no random
+    //letter (or every letter of a tiny alphabet spells something)
+    for (int i = 0; i < written.length; i++) {
+      if (changed(written[i]) && spellsCopyThrough((int)(written[i] >>> 16), p)) {
+        revert(cells, 0, written.length);
+        if (first) {
+          banned.remove(word);
+          pendingChecker = null;
+        }
+        return null;
+      }
+    }
+    if (first) {
+      ban(word);
+      pendingChecker = null;
+    }
+    return cells;
+  }
+
+  /**@return every place the grid spells the word, including where it was
+   *just written
+   */
+  private List<Placement> copies(String word) {
+    if (Alphabet.length(word) < GramIndex.LENGTH || grid.size() > GramIndex.MAX_CELLS) {
+      return new WordSearchSolver(Collections.singleton(word), grid.getAlphabet()).solve(puzzle);
+    }
+    if (grams == null) {
+      grams = new GramIndex(grid);
+    }
+    return grams.find(word);
+  }
+
+  /**Adds a word to the checkers of words added since the editor was made,
+   *merging it with the smallest ones like carrying in a binary counter.
+   */
+  private void ban(String word) {
+    List<String> carry = new ArrayList<String>();
+    carry.add(word);
+    for (int level = 0; ; level++) {
+      if (level == newWords.size()) {
+        newWords.add(null);
+        newCheckers.add(null);
+      }
+      if (newWords.get(level) == null) {
+        newWords.set(level, carry);
+        newCheckers.set(level, new WordSearchSolver(carry, grid.getAlphabet()));
+        return;
+      }
+      carry.addAll(newWords.get(level));
+      newWords.set(level, null);
+      newCheckers.set(level, null);
+    }
+  }
+
+  /**Sets a cell and keeps the GramIndex, if there is one, up to date.*/
+  private void setCode(int index, int code) {
+    if (grams == null) {
+      grid.setCode(index, code);
+    } else if ((grid.getCode(index) & 0xFF) != code) {
+      grams.remove(index);
+      grid.setCode(index, code);
+      grams.add(index);
+    }
+  }
+
+  /**Takes a placement's letters out of the grid, drawing new letters for the
+   *cells no other word covers.
+   *@return the log of its cells
+   */
+  private long[] erase(Placement p) {
+    int stride = grid.stride(direction(p));
+    int index = grid.index(p.getRow(), p.getCol());
+    long[] cells = new long[Alphabet.length(p.getWord())];
+    for (int i = 0; i < cells.length; i++, index += stride) {
+      int old = grid.getCode(index);
+      cover[index]--;
+      if (cover[index] == 0) {
+        setCode(index, Grid.EMPTY);
+      }
+      cells[i] = pack(index, old, old);
+    }
+    //fill only after every letter of the word is gone, so the checker does
+    //not see the rest of the old word
+    for (int i = 0; i < cells.length; i++) {
+      int cell = (int)(cells[i] >>> 16);
+      if (cover[cell] == 0 && filled) {
+        refill(cell);
+      }
+      cells[i] = pack(cell, (int)(cells[i] >>> 8) & 0xFF, grid.getCode(cell));
+    }
+    return cells;
+  }
+
+  /**Sets the new letter of every logged cell, in order. The first removed
+   *cells belong to a word being taken out, the next written to one being
+   *written, and the rest are random letters that were redrawn.
+   */
+  private void replay(long[] cells, int removed, int written) {
+    for (int i = 0; i < cells.length; i++) {
+      int index = (int)(cells[i] >>> 16);
+      cover[index] += coverChange(i, removed, written);
+      setCode(index, (int)cells[i] & 0xFF);
+    }
+  }
+
+  /**Puts back the old letter of every logged cell, in reverse order, since
+   *a cell can be logged more than once when a word moves over itself.
+   */
+  private void revert(long[] cells, int removed, int written) {
+    for (int i = cells.length - 1; i >= 0; i--) {
+      int index = (int)(cells[i] >>> 16);
+      cover[index] -= coverChange(i, removed, written);
+      setCode(index, (int)(cells[i] >>> 8) & 0xFF);
+    }
+  }
+
+  private static int coverChange(int cell, int removed, int written) {
+    return cell < removed ? -1 : cell < removed + written ? 1 : 0;
+  }
+
+  /**Updates the puzzle's lists for an edit being made (forward) or reverted.*/
+  private void list(Edit edit, boolean forward) {
+    Placement from = forward ? edit.before : edit.after;
+    Placement to = forward ? edit.after : edit.before;
+    if (from == null) {
+      puzzle.insertPlacement(edit.wordIndex, edit.placementIndex, to);
+    } else if (to == null) {
+      puzzle.removePlacement(edit.wordIndex, edit.placementIndex);
+    } else {
+      puzzle.setPlacement(edit.placementIndex, to);
+      return;
+    }
+    //adding or removing the last placement leaves the others where they were
+    if (edit.placementIndex != puzzle.getPlacements().size() - (from == null ? 1 : 0)) {
+      placementIndexStale = true;
+    } else if (from == null) {
+      placementIndex.put(to.getWord(), edit.placementIndex);
+    } else {
+      placementIndex.remove(from.getWord());
+    }
+  }
+
+  /**Draws a random letter for a cell no word covers and moves it along the
+   *alphabet until the lines through it spell nothing, as the fill does.
+   */
+  private void refill(int index) {
+    Alphabet alphabet = grid.getAlphabet();
+    int code = alphabet.random(randgen);
+    setCode(index, code);
+    int next = code;
+    while (spellsWordThrough(index)) {
+      next = alphabet.next(next);
+      setCode(index, next);
+      if (next == code) {
+        break;
+      }
+    }
+  }
+
+  private boolean spellsWordThrough(int index) {
+    buildChecker();
+    if (startingChecker.spellsWordThrough(grid, index)) {
+      return true;
+    }
+    for (WordSearchSolver checker : newCheckers) {
+      if (checker != null && checker.spellsWordThrough(grid, index)) {
+        return true;
+      }
+    }
+    return pendingChecker != null && pendingChecker.spellsWordThrough(grid, index);
+  }
+
+  /**@return whether a banned word runs through a cell anywhere but at p*/
+  private boolean spellsCopyThrough(int index, Placement p) {
+    buildChecker();
+    List<Placement> hits = startingChecker.findThrough(grid, index);
+    for (WordSearchSolver checker : newCheckers) {
+      if (checker != null) {
+        hits.addAll(checker.findThrough(grid, index));
+      }
+    }
+    if (pendingChecker != null) {
+      hits.addAll(pendingChecker.findThrough(grid, index));
+    }
+    for (Placement hit : hits) {
+      if (!sameCells(hit, p)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void buildChecker() {
+    if (startingChecker == null) {
+      startingChecker = new WordSearchSolver(startingWords, grid.getAlphabet());
+    }
+  }
+
+  /**@return whether two placements of the same word cover the same cells,
+   *which a palindrome can do from either end
+   */
+  private static boolean sameCells(Placement a, Placement b) {
+    if (!a.getWord().equals(b.getWord())) {
+      return false;
+    }
+    if (a.getRow() == b.getRow() && a.getCol() == b.getCol() &&
+        a.getRowIncrement() == b.getRowIncrement() && a.getColIncrement() == b.getColIncrement()) {
+      return true;
+    }
+    int last = Alphabet.length(a.getWord()) - 1;
+    return a.getRow() == b.getRow() + last * b.getRowIncrement() && a.getCol() == b.getCol() + last * b.getColIncrement() &&
+      a.getRowIncrement() == -b.getRowIncrement() && a.getColIncrement() == -b.getColIncrement();
+  }
+
+  /**@return whether a logged cell's letter changed*/
+  private static boolean changed(long cell) {
+    return ((int)(cell >>> 8) & 0xFF) != ((int)cell & 0xFF);
+  }
+
+  private static int direction(Placement p) {
+    return Grid.direction(p.getRowIncrement(), p.getColIncrement());
+  }
+
+  private static long[] concat(long[] first, long[] second) {
+    long[] both = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, both, first.length, second.length);
+    return both;
+  }
+
+  private static long pack(int index, int oldCode, int newCode) {
+    return (long)index << 16 | (oldCode & 0xFF) << 8 | newCode & 0xFF;
+  }
+
+  /**One change: a word added (before is null), removed (after is null) or
+   *moved. wordIndex is unused for a move, which keeps both list positions.
+   */
+  private static class Edit {
+    private final Placement before;
+    private final Placement after;
+    private final int wordIndex;
+    private final int placementIndex;
+    /**how many of the cells belong to before, and then how many to after;
+     *the rest are random letters redrawn around after
+     */
+    private final int removed;
+    private final int written;
+    /**index << 16 | old code << 8 | new code, for every cell touched*/
+    private final long[] cells;
+
+    Edit(Placement before, Placement after, int wordIndex, int placementIndex, int removed, int written, long[] cells) {
+      this.before = before;
+      this.after = after;
+      this.wordIndex = wordIndex;
+      this.placementIndex = placementIndex;
+      this.removed = removed;
+      this.written = written;
+      this.cells = cells;
+    }
+  }
+}
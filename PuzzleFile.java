@@ -0,0 +1,298 @@
+import java.util.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.zip.*;
+
+/**Saves puzzles in a compact binary format and loads them back without
+ *generating them again. A puzzle is stored as:
+ *
+ *  "WSP" and a version byte (1, or 2 for a puzzle not in Alphabet.LATIN)
+ *  a flags byte (bit 0: a CRC32 of everything before it follows the cells)
+ *  the seed format (SeedFormat ordinal), bits per cell and a spare byte
+ *  rows, cols and seed as ints
+ *  in version 2 only, the alphabet: the number of symbols as a short, then
+ *  each symbol's code point and weight as ints
+ *  the number of words added, then each as a short length and its bytes
+ *  the number of placements, then each as its word (like the words above),
+ *  its row and column as ints and its direction (0-7, see Grid) as a byte
+ *  every cell, row-major, packed into bitsPerCell bits from the low bit up
+ *  (5 for A-Z, up to 8 for the largest alphabets)
+ *  the CRC32 as an int, if the flag is set
+ *
+ *Ints are big-endian. Puzzles can be written one after another into the
+ *same buffer or file, and read() picks up where the last one ended, so an
+ *archive can be memory-mapped once and read straight out of the page cache.
+ */
+public class PuzzleFile {
+  private static final byte[] MAGIC = {'W', 'S', 'P'};
+  private static final byte VERSION = 1;
+  private static final byte ALPHABET_VERSION = 2;
+  private static final int CHECKSUM = 1;
+
+  /**@return the number of bytes write() needs for the puzzle*/
+  public static int size(WordSearch puzzle, boolean checksum) {
+    Alphabet alphabet = puzzle.getAlphabet();
+    long size = 8 + 12 + 4 + 4;
+    if (!alphabet.equals(Alphabet.LATIN)) {
+      size += 2 + alphabet.size() * 8;
+    }
+    List<String> words = puzzle.getWordsAdded();
+    for (int i = 0; i < words.size(); i++) {
+      size += 2 + words.get(i).getBytes(StandardCharsets.UTF_8).length;
+    }
+    List<Placement> placements = puzzle.getPlacements();
+    for (int i = 0; i < placements.size(); i++) {
+      size += 2 + placements.get(i).getWord().getBytes(StandardCharsets.UTF_8).length + 9;
+    }
+    size += ((long)puzzle.getRows() * puzzle.getCols() * alphabet.bitsPerSymbol() + 7) / 8;
+    if (checksum) {
+      size += 4;
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Puzzle is too large to save: " + puzzle.getRows() + "x" + puzzle.getCols());
+    }
+    return (int)size;
+  }
+
+  /**Writes the puzzle at the buffer's position and leaves the position after it.
+   *@throws BufferOverflowException if there are fewer than size() bytes left
+   */
+  public static void write(WordSearch puzzle, ByteBuffer out, boolean checksum) {
+    out.order(ByteOrder.BIG_ENDIAN);
+    int start = out.position();
+    Alphabet alphabet = puzzle.getAlphabet();
+    //A-Z puzzles are written exactly as before alphabets existed
+    boolean latin = alphabet.equals(Alphabet.LATIN);
+    int bitsPerCell = alphabet.bitsPerSymbol();
+    out.put(MAGIC).put(latin ? VERSION : ALPHABET_VERSION);
+    out.put((byte)(checksum ? CHECKSUM : 0));
+    out.put((byte)puzzle.getSeedFormat().ordinal());
+    out.put((byte)bitsPerCell);
+    out.put((byte)0);
+    out.putInt(puzzle.getRows()).putInt(puzzle.getCols()).putInt(puzzle.getSeed());
+    if (!latin) {
+      out.putShort((short)alphabet.size());
+      for (int id = 1; id <= alphabet.size(); id++) {
+        out.putInt(alphabet.decode(id)).putInt(alphabet.getWeight(id));
+      }
+    }
+
+    //a word can be placed without being listed (see RandomPlacement), so
+    //placements carry their own words rather than pointing into the list
+    List<String> words = puzzle.getWordsAdded();
+    out.putInt(words.size());
+    for (int i = 0; i < words.size(); i++) {
+      putWord(words.get(i), out);
+    }
+    List<Placement> placements = puzzle.getPlacements();
+    out.putInt(placements.size());
+    for (int i = 0; i < placements.size(); i++) {
+      Placement p = placements.get(i);
+      putWord(p.getWord(), out);
+      out.putInt(p.getRow()).putInt(p.getCol());
+      out.put((byte)Grid.direction(p.getRowIncrement(), p.getColIncrement()));
+    }
+
+    //pack the cells through a 64 bit accumulator, a byte at a time
+    Grid grid = puzzle.getGrid();
+    long bits = 0;
+    int count = 0;
+    for (int i = 0; i < grid.size(); i++) {
+      bits |= (long)(grid.getCode(i) & 0xFF) << count;
+      count += bitsPerCell;
+      while (count >= 8) {
+        out.put((byte)bits);
+        bits >>>= 8;
+        count -= 8;
+      }
+    }
+    if (count > 0) {
+      out.put((byte)bits);
+    }
+
+    if (checksum) {
+      out.putInt((int)crc(out, start, out.position()));
+    }
+  }
+
+  /**@return the puzzle in a new array of exactly size() bytes*/
+  public static byte[] toBytes(WordSearch puzzle, boolean checksum) {
+    byte[] bytes = new byte[size(puzzle, checksum)];
+    write(puzzle, ByteBuffer.wrap(bytes), checksum);
+    return bytes;
+  }
+
+  /**Reads the puzzle at the buffer's position and leaves the position after
+   *it. The cells are unpacked straight from the buffer into the grid, so a
+   *mapped file is never copied into an intermediate array.
+   *@throws IllegalArgumentException if the bytes are not a puzzle this
+   *version can read, a placement does not fit the grid or its alphabet, or
+   *the checksum does not match
+   */
+  public static WordSearch read(ByteBuffer in) {
+    in.order(ByteOrder.BIG_ENDIAN);
+    int start = in.position();
+    try {
+      for (int i = 0; i < MAGIC.length; i++) {
+        if (in.get() != MAGIC[i]) {
+          throw new IllegalArgumentException("Not a saved puzzle!");
+        }
+      }
+      int version = in.get();
+      if (version != VERSION && version != ALPHABET_VERSION) {
+        throw new IllegalArgumentException("Unsupported puzzle version: " + version);
+      }
+      int flags = in.get();
+      int seedFormat = in.get();
+      int bitsPerCell = in.get();
+      in.get();
+      if (seedFormat < 0 || seedFormat >= SeedFormat.values().length || bitsPerCell < 1 || bitsPerCell > 8) {
+        throw new IllegalArgumentException("Corrupt puzzle header!");
+      }
+      int rows = in.getInt();
+      int cols = in.getInt();
+      int seed = in.getInt();
+      Alphabet alphabet = version == VERSION ? Alphabet.LATIN : getAlphabet(in);
+      if (rows < 0 || cols < 0 || ((long)rows * cols * bitsPerCell + 7) / 8 > in.remaining()) {
+        throw new IllegalArgumentException("Saved puzzle is truncated!");
+      }
+      Grid grid = new Grid(rows, cols, alphabet);
+
+      int wordCount = in.getInt();
+      if (wordCount < 0 || wordCount > in.remaining() / 2) {
+        throw new IllegalArgumentException("Corrupt word count: " + wordCount);
+      }
+      List<String> words = new ArrayList<String>(wordCount);
+      for (int i = 0; i < wordCount; i++) {
+        words.add(getWord(in));
+      }
+      int placementCount = in.getInt();
+      if (placementCount < 0 || placementCount > in.remaining() / 11) {
+        throw new IllegalArgumentException("Corrupt placement count: " + placementCount);
+      }
+      List<Placement> placements = new ArrayList<Placement>(placementCount);
+      for (int i = 0; i < placementCount; i++) {
+        String word = getWord(in);
+        int row = in.getInt();
+        int col = in.getInt();
+        int dir = in.get();
+        //a placement is used to index the grid later, so one that runs off
+        //it or has a symbol the alphabet lacks must be caught here
+        if (dir < 0 || dir >= 8 || !grid.fits(row, col, dir, Alphabet.length(word)) || !alphabet.canSpell(word)) {
+          throw new IllegalArgumentException("Corrupt placement: " + i);
+        }
+        placements.add(new Placement(word, row, col, Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+      }
+
+      int mask = (1 << bitsPerCell) - 1;
+      long bits = 0;
+      int count = 0;
+      for (int i = 0; i < grid.size(); i++) {
+        while (count < bitsPerCell) {
+          bits |= (long)(in.get() & 0xFF) << count;
+          count += 8;
+        }
+        int code = (int)bits & mask;
+        if (code > alphabet.size()) {
+          throw new IllegalArgumentException("Corrupt cell: " + i);
+        }
+        grid.setCode(i, code);
+        bits >>>= bitsPerCell;
+        count -= bitsPerCell;
+      }
+
+      if ((flags & CHECKSUM) != 0) {
+        long expected = crc(in, start, in.position());
+        if (in.getInt() != (int)expected) {
+          throw new IllegalArgumentException("Checksum mismatch!");
+        }
+      }
+      return new WordSearch(grid, seed, SeedFormat.values()[seedFormat], words, placements);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Saved puzzle is truncated!");
+    }
+  }
+
+  private static Alphabet getAlphabet(ByteBuffer in) {
+    int size = in.getShort();
+    if (size < 1 || size > Alphabet.MAX_SIZE) {
+      throw new IllegalArgumentException("Corrupt alphabet size: " + size);
+    }
+    int[] symbols = new int[size];
+    int[] weights = new int[size];
+    for (int i = 0; i < size; i++) {
+      symbols[i] = in.getInt();
+      weights[i] = in.getInt();
+      if (!Character.isValidCodePoint(symbols[i])) {
+        throw new IllegalArgumentException("Corrupt alphabet symbol: " + symbols[i]);
+      }
+    }
+    //which rejects a repeated symbol or a negative weight
+    return new Alphabet(new String(symbols, 0, size), weights);
+  }
+
+  /**Writes one puzzle to a file, replacing whatever was there.*/
+  public static void save(WordSearch puzzle, Path file, boolean checksum) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(toBytes(puzzle, checksum));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**Memory-maps a file and reads every puzzle in it, in order.*/
+  public static List<WordSearch> load(Path file) throws IOException {
+    List<WordSearch> puzzles = new ArrayList<WordSearch>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      while (in.hasRemaining()) {
+        puzzles.add(read(in));
+      }
+    }
+    return puzzles;
+  }
+
+  private static void putWord(String word, ByteBuffer out) {
+    byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IllegalArgumentException("Word is too long to save: " + word);
+    }
+    out.putShort((short)bytes.length).put(bytes);
+  }
+
+  private static String getWord(ByteBuffer in) {
+    byte[] bytes = new byte[in.getShort() & 0xFFFF];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**@return the CRC32 of the bytes from start to end, without moving the buffer*/
+  private static long crc(ByteBuffer buffer, int start, int end) {
+    CRC32 crc = new CRC32();
+    ByteBuffer slice = buffer.duplicate();
+    slice.limit(end).position(start);
+    crc.update(slice);
+    return crc.getValue();
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.out.println("usage: [puzzlefile]");
+      return;
+    }
+    try {
+      for (WordSearch puzzle : load(Paths.get(args[0]))) {
+        System.out.println(puzzle);
+        System.out.println();
+      }
+    } catch (IOException e) {
+      System.out.println("File not found: " + args[0]);
+    } catch (IllegalArgumentException e) {
+      System.out.println("Could not read " + args[0] + ": " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,29 @@
+import jdk.jfr.*;
+
+/**Recorded by Java Flight Recorder for every WordSearch built while a
+ *recording with this event enabled is running; costs nothing otherwise.
+ */
+@Name("wordsearch.PuzzleGenerated")
+@Label("Puzzle Generated")
+@Category("WordSearch")
+@Description("Generation of one WordSearch, from empty grid to filled puzzle")
+class PuzzleGeneratedEvent extends Event {
+  @Label("Rows")
+  int rows;
+
+  @Label("Columns")
+  int cols;
+
+  @Label("Seed")
+  int seed;
+
+  @Label("Words Placed")
+  int wordsPlaced;
+
+  @Label("Words Dropped")
+  int wordsDropped;
+
+  @Label("Placement Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long placementTime;
+}
@@ -0,0 +1,202 @@
+import java.util.*;
+import java.io.*;
+import java.nio.charset.*;
+
+/**Writes a WordSearch out in a single pass over its grid, straight to any
+ *Appendable (a StringBuilder, a Writer, System.out...), so rendering time
+ *grows with the size of the board and nothing is built up in between.
+ */
+public class PuzzleRenderer {
+  public enum Format {
+    /**The puzzle as printed by toString: rows between bars, then the words*/
+    TEXT,
+    /**Like TEXT, but only the letters that belong to a word are shown*/
+    KEY,
+    /**One line per row, letters separated by commas, empty cells left blank;
+     *a comma, quote or line break is quoted as RFC 4180 has it
+     */
+    CSV,
+    /**An object with the dimensions, seed, rows, words and placements*/
+    JSON
+  }
+
+  /**@return roughly how many characters the TEXT format needs, to size buffers*/
+  public static int estimateSize(WordSearch puzzle) {
+    long size = (long)puzzle.getRows() * (puzzle.getCols() * 2 + 2) + 32;
+    List<String> words = puzzle.getWordsAdded();
+    for (int i = 0; i < words.size(); i++) {
+      size += words.get(i).length() + 2;
+    }
+    return (int)Math.min(size, Integer.MAX_VALUE - 8);
+  }
+
+  public static void render(WordSearch puzzle, Format format, Appendable out) throws IOException {
+    long start = System.nanoTime();
+    switch (format) {
+      case TEXT:
+        renderText(puzzle, null, out);
+        break;
+      case KEY:
+        renderText(puzzle, keyMask(puzzle), out);
+        break;
+      case CSV:
+        renderCsv(puzzle, out);
+        break;
+      case JSON:
+        renderJson(puzzle, out);
+        break;
+    }
+    if (puzzle.getMetrics() != null) {
+      puzzle.getMetrics().addRenderTime(System.nanoTime() - start);
+    }
+  }
+
+  /**Renders straight to a stream (a file, System.out...) through a small
+   *buffer, so even a board too large for the heap is never held as text.
+   */
+  public static void write(WordSearch puzzle, Format format, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    render(puzzle, format, writer);
+    writer.flush();
+  }
+
+  /**@param key marks the cells to show, or is null to show every cell*/
+  private static void renderText(WordSearch puzzle, boolean[] key, Appendable out) throws IOException {
+    int rows = puzzle.getRows();
+    int cols = puzzle.getCols();
+    for (int i = 0; i < rows; i++) {
+      out.append('|');
+      for (int j = 0; j < cols; j++) {
+        if (j > 0) {
+          out.append(' ');
+        }
+        int letter = puzzle.getCodePoint(i, j);
+        if (letter == '_' || key != null && !key[i * cols + j]) {
+          out.append(' ');
+        } else {
+          appendLetter(letter, out);
+        }
+      }
+      out.append("|\n");
+    }
+    out.append("Words: ");
+    List<String> words = puzzle.getWordsAdded();
+    for (int i = 0; i < words.size(); i++) {
+      if (i > 0) {
+        out.append(", ");
+      }
+      out.append(words.get(i));
+    }
+    out.append(" (seed: ").append(Integer.toString(puzzle.getSeed())).append(')');
+  }
+
+  private static void renderCsv(WordSearch puzzle, Appendable out) throws IOException {
+    for (int i = 0; i < puzzle.getRows(); i++) {
+      for (int j = 0; j < puzzle.getCols(); j++) {
+        if (j > 0) {
+          out.append(',');
+        }
+        int letter = puzzle.getCodePoint(i, j);
+        if (letter == ',' || letter == '\n' || letter == '\r') {
+          out.append('"').append((char)letter).append('"');
+        } else if (letter == '"') {
+          out.append("\"\"\"\"");
+        } else if (letter != '_') {
+          appendLetter(letter, out);
+        }
+      }
+      out.append('\n');
+    }
+  }
+
+  private static void renderJson(WordSearch puzzle, Appendable out) throws IOException {
+    out.append("{\"rows\":").append(Integer.toString(puzzle.getRows()));
+    out.append(",\"cols\":").append(Integer.toString(puzzle.getCols()));
+    out.append(",\"seed\":").append(Integer.toString(puzzle.getSeed()));
+    out.append(",\"grid\":[");
+    for (int i = 0; i < puzzle.getRows(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append('"');
+      for (int j = 0; j < puzzle.getCols(); j++) {
+        int letter = puzzle.getCodePoint(i, j);
+        if (letter == '_') {
+          out.append(' ');
+        } else if (Character.isBmpCodePoint(letter)) {
+          appendJsonChar((char)letter, out);
+        } else {
+          appendLetter(letter, out);
+        }
+      }
+      out.append('"');
+    }
+    out.append("],\"words\":[");
+    List<String> words = puzzle.getWordsAdded();
+    for (int i = 0; i < words.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      appendJsonString(words.get(i), out);
+    }
+    out.append("],\"placements\":[");
+    List<Placement> placements = puzzle.getPlacements();
+    for (int i = 0; i < placements.size(); i++) {
+      Placement p = placements.get(i);
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append("{\"word\":");
+      appendJsonString(p.getWord(), out);
+      out.append(",\"row\":").append(Integer.toString(p.getRow()));
+      out.append(",\"col\":").append(Integer.toString(p.getCol()));
+      out.append(",\"rowIncrement\":").append(Integer.toString(p.getRowIncrement()));
+      out.append(",\"colIncrement\":").append(Integer.toString(p.getColIncrement()));
+      out.append('}');
+    }
+    out.append("]}\n");
+  }
+
+  /**Appends a code point, as two chars if it is outside the Basic
+   *Multilingual Plane.
+   */
+  private static void appendLetter(int letter, Appendable out) throws IOException {
+    if (Character.isBmpCodePoint(letter)) {
+      out.append((char)letter);
+    } else {
+      out.append(Character.highSurrogate(letter)).append(Character.lowSurrogate(letter));
+    }
+  }
+
+  private static void appendJsonString(String s, Appendable out) throws IOException {
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      appendJsonChar(s.charAt(i), out);
+    }
+    out.append('"');
+  }
+
+  private static void appendJsonChar(char c, Appendable out) throws IOException {
+    if (c == '"' || c == '\\') {
+      out.append('\\').append(c);
+    } else if (c < ' ') {
+      out.append(String.format("\\u%04x", (int)c));
+    } else {
+      out.append(c);
+    }
+  }
+
+  /**@return which cells are covered by a placed word*/
+  private static boolean[] keyMask(WordSearch puzzle) {
+    int cols = puzzle.getCols();
+    boolean[] key = new boolean[puzzle.getRows() * cols];
+    List<Placement> placements = puzzle.getPlacements();
+    for (int i = 0; i < placements.size(); i++) {
+      Placement p = placements.get(i);
+      for (int j = Alphabet.length(p.getWord()) - 1; j >= 0; j--) {
+        key[(p.getRow() + j * p.getRowIncrement()) * cols + p.getCol() + j * p.getColIncrement()] = true;
+      }
+    }
+    return key;
+  }
+}
@@ -0,0 +1,50 @@
+import java.util.*;
+import java.util.random.*;
+
+/**The original placement strategy, and still the default. Each word is
+ *chosen at random and assigned a random direction and position. If the
+ *word cannot be added using addWord, another attempt is made with a
+ *different starting position. Once a number of tries equal to the number
+ *of possible starting positions has been made, the word is skipped.
+ */
+public class RandomPlacement implements PlacementStrategy {
+  public void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded) {
+    int rows = puzzle.getRows();
+    int cols = puzzle.getCols();
+    boolean wordStop = false;
+    int wordTries = wordsToAdd.size() * 3;
+    while (!(wordStop || wordsToAdd.isEmpty())) {
+      int tries = rows * cols;
+      int xDir = randgen.nextInt(3) - 1;
+      int yDir = randgen.nextInt(3) - 1;
+      boolean stop =  false;
+      String word = wordsToAdd.get(randgen.nextInt(wordsToAdd.size()));
+      //words as long as either side of the grid have never been allowed
+      int length = Alphabet.length(word);
+      boolean tooLong = length >= rows || length >= cols;
+      while (!stop) {
+        int x = randgen.nextInt(rows);
+        int y = randgen.nextInt(cols);
+        if (tooLong && puzzle.getMetrics() != null) {
+          puzzle.getMetrics().countAttempt();
+          puzzle.getMetrics().countOutOfBounds();
+        }
+        stop = (!tooLong && puzzle.addWord(word, x, y, xDir, yDir)) || tries <= 0;
+        if (xDir == 0 && yDir == 0) {
+          xDir = randgen.nextInt(2) - 1;
+          yDir = randgen.nextInt(2) - 1;
+        }
+        tries--;
+      }
+      if (tries > 0) {
+        wordsAdded.add(word);
+        wordsToAdd.remove(word);
+      } else {
+        wordTries--;
+      }
+      if (wordTries <= 0) {
+        wordStop = true;
+      }
+    }
+  }
+}
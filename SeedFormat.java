@@ -0,0 +1,15 @@
+/**How a seed is turned into random numbers. A puzzle is only reproducible
+ *from its seed together with the format it was made with, so formats are
+ *never changed once added; new behaviour gets a new version.
+ */
+public enum SeedFormat {
+  /**One java.util.Random for everything, filled one cell at a time. This is
+   *how every puzzle was made before formats existed, and stays the default.
+   */
+  V1,
+  /**A SplittableRandom for placement, split into an independent generator
+   *per row for the fill so rows can be filled in parallel. Letters are
+   *drawn without the modulo bias of V1.
+   */
+  V2
+}
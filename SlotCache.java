@@ -0,0 +1,164 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.*;
+
+/**Every (start, direction) pair that keeps a word of a given length inside a
+ *grid of a given size, worked out once and shared by every puzzle of that
+ *size on every thread. A slot packs the start index and direction as
+ *index * 8 + direction, and the slots are in increasing order. Lists hold
+ *slots as ints, so they are only built for grids of up to MAX_LIST_CELLS
+ *cells; random draws a slot from any grid and returns it as a long.
+ *
+ *Each direction's starts form a rectangle, so a list is built from the
+ *bounds of eight rectangles without walking a single word. Lists for grids
+ *of more than MAX_CACHED_CELLS cells are built each time instead of kept,
+ *since there are few such puzzles and their lists are large (up to 8 ints
+ *per cell).
+ */
+public class SlotCache {
+  static final int MAX_CACHED_CELLS = 1 << 16;
+
+  /**The most cells a grid can have and still pack every slot into an int*/
+  static final int MAX_LIST_CELLS = Integer.MAX_VALUE / 8;
+
+  private static final ConcurrentHashMap<Key, int[]> CACHE = new ConcurrentHashMap<Key, int[]>();
+
+  /**@return the slots for a word of the given length; the array is shared
+   *and must not be changed
+   *@throws IllegalArgumentException if the grid has more than MAX_LIST_CELLS
+   *cells
+   */
+  public static int[] slots(int rows, int cols, int length) {
+    if ((long)rows * cols > MAX_CACHED_CELLS) {
+      return build(rows, cols, length);
+    }
+    return CACHE.computeIfAbsent(new Key(rows, cols, length), k -> build(rows, cols, length));
+  }
+
+  private static int[] build(int rows, int cols, int length) {
+    if ((long)rows * cols > MAX_LIST_CELLS) {
+      throw new IllegalArgumentException("Too many cells for a slot list: " + rows + "x" + cols);
+    }
+    if (length == 0) {
+      return new int[0];
+    }
+    int[] firstRow = new int[8];
+    int[] lastRow = new int[8];
+    int[] firstCol = new int[8];
+    int[] lastCol = new int[8];
+    long count = 0;
+    for (int dir = 0; dir < 8; dir++) {
+      firstRow[dir] = first(Grid.ROW_DIRS[dir], length);
+      lastRow[dir] = last(rows, Grid.ROW_DIRS[dir], length);
+      firstCol[dir] = first(Grid.COL_DIRS[dir], length);
+      lastCol[dir] = last(cols, Grid.COL_DIRS[dir], length);
+      count += (long)Math.max(0, lastRow[dir] - firstRow[dir] + 1) * Math.max(0, lastCol[dir] - firstCol[dir] + 1);
+    }
+    int[] slots = new int[(int)count];
+    int n = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        for (int dir = 0; dir < 8; dir++) {
+          if (row >= firstRow[dir] && row <= lastRow[dir] && col >= firstCol[dir] && col <= lastCol[dir]) {
+            slots[n] = (row * cols + col) * 8 + dir;
+            n++;
+          }
+        }
+      }
+    }
+    return slots;
+  }
+
+  /**Draws one slot in the given direction, without building the list: a
+   *random row of the direction's rectangle, then a random column.
+   *@return the slot, packed into a long so any grid's slots fit, or -1 if a
+   *word of that length does not fit that way
+   */
+  public static long random(int rows, int cols, int length, int dir, RandomGenerator randgen) {
+    int firstRow = first(Grid.ROW_DIRS[dir], length);
+    int firstCol = first(Grid.COL_DIRS[dir], length);
+    int rowSpan = last(rows, Grid.ROW_DIRS[dir], length) - firstRow + 1;
+    int colSpan = last(cols, Grid.COL_DIRS[dir], length) - firstCol + 1;
+    if (length == 0 || rowSpan <= 0 || colSpan <= 0) {
+      return -1;
+    }
+    int row = firstRow + randgen.nextInt(rowSpan);
+    int col = firstCol + randgen.nextInt(colSpan);
+    return ((long)row * cols + col) * 8 + dir;
+  }
+
+  /**Draws one slot from all eight directions, as picking a random entry of
+   *slots() would, without building the list: each direction is drawn in
+   *proportion to the area of its rectangle, so every slot is equally likely.
+   *@return the slot, packed into a long, or -1 if the word fits nowhere
+   */
+  public static long random(int rows, int cols, int length, RandomGenerator randgen) {
+    if (length == 0) {
+      return -1;
+    }
+    long total = 0;
+    for (int dir = 0; dir < 8; dir++) {
+      total += area(rows, cols, length, dir);
+    }
+    if (total == 0) {
+      return -1;
+    }
+    long pick = randgen.nextLong(total);
+    int dir = 0;
+    while (pick >= area(rows, cols, length, dir)) {
+      pick -= area(rows, cols, length, dir);
+      dir++;
+    }
+    int colSpan = last(cols, Grid.COL_DIRS[dir], length) - first(Grid.COL_DIRS[dir], length) + 1;
+    long row = first(Grid.ROW_DIRS[dir], length) + pick / colSpan;
+    long col = first(Grid.COL_DIRS[dir], length) + pick % colSpan;
+    return (row * cols + col) * 8 + dir;
+  }
+
+  /**@return the number of slots in one direction*/
+  private static long area(int rows, int cols, int length, int dir) {
+    int rowSpan = last(rows, Grid.ROW_DIRS[dir], length) - first(Grid.ROW_DIRS[dir], length) + 1;
+    int colSpan = last(cols, Grid.COL_DIRS[dir], length) - first(Grid.COL_DIRS[dir], length) + 1;
+    return rowSpan <= 0 || colSpan <= 0 ? 0 : (long)rowSpan * colSpan;
+  }
+
+  /**@return the first row (or column) a word can start on going the given
+   *way: a word going up must start at least length - 1 rows down, and so on
+   */
+  private static int first(int increment, int length) {
+    return increment < 0 ? length - 1 : 0;
+  }
+
+  private static int last(int size, int increment, int length) {
+    return size - 1 - (increment > 0 ? length - 1 : 0);
+  }
+
+  /**Forgets every cached list.*/
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  private static class Key {
+    private final int rows;
+    private final int cols;
+    private final int length;
+
+    Key(int rows, int cols, int length) {
+      this.rows = rows;
+      this.cols = cols;
+      this.length = length;
+    }
+
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key k = (Key)other;
+      return rows == k.rows && cols == k.cols && length == k.length;
+    }
+
+    public int hashCode() {
+      return Objects.hash(rows, cols, length);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+import java.util.*;
+import java.util.random.*;
+
+/**Like RandomPlacement, but each try draws a slot from SlotCache instead of
+ *a start cell and direction, so every try keeps the word inside the grid
+ *and the only reason a try can fail is a letter that disagrees. No bounds
+ *are checked while placing, and puzzles of the same size share the slots.
+ *Unlike RandomPlacement, a word as long as a side of the grid may be placed.
+ *
+ *Grids too large for SlotCache to keep (more than MAX_CACHED_CELLS cells)
+ *would rebuild a whole list for every word, so on those each try draws a
+ *slot straight from the rectangles of starts (SlotCache.random) instead,
+ *with the same chance for every slot.
+ */
+public class SlotPlacement implements PlacementStrategy {
+  private int tries;
+
+  /**Tries each word as many times as the grid has cells, as RandomPlacement does.*/
+  public SlotPlacement() {
+    this(0);
+  }
+
+  /**@param tries is the number of slots drawn for each word, or 0 for as many
+   *as the grid has cells
+   */
+  public SlotPlacement(int tries) {
+    if (tries < 0) {
+      throw new IllegalArgumentException("tries must not be negative!");
+    }
+    this.tries = tries;
+  }
+
+  public void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded) {
+    Grid grid = puzzle.getGrid();
+    GenerationMetrics metrics = puzzle.getMetrics();
+    int limit = tries == 0 ? grid.size() : tries;
+    int firstAdded = wordsAdded.size();
+    List<String> words = new ArrayList<String>(wordsToAdd);
+    PlacementStrategy.shuffle(words, randgen);
+    boolean cached = (long)grid.getRows() * grid.getCols() <= SlotCache.MAX_CACHED_CELLS;
+    for (String word : words) {
+      int length = Alphabet.length(word);
+      int[] slots = cached ? SlotCache.slots(grid.getRows(), grid.getCols(), length) : null;
+      for (int i = 0; i < limit; i++) {
+        long slot;
+        if (cached) {
+          if (slots.length == 0) {
+            break;
+          }
+          slot = slots[randgen.nextInt(slots.length)];
+        } else {
+          slot = SlotCache.random(grid.getRows(), grid.getCols(), length, randgen);
+          if (slot < 0) {
+            break;
+          }
+        }
+        int start = (int)(slot / 8);
+        int dir = (int)(slot % 8);
+        int blanks = grid.check(word, start, dir);
+        if (metrics != null) {
+          metrics.countAttempt();
+          if (blanks < 0) {
+            metrics.countConflict();
+          }
+        }
+        if (blanks >= 0) {
+          grid.place(word, start, dir, null);
+          puzzle.addPlacement(new Placement(word, start / grid.getCols(), start % grid.getCols(), Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+          wordsAdded.add(word);
+          break;
+        }
+      }
+    }
+    PlacementStrategy.removePlaced(wordsToAdd, wordsAdded.subList(firstAdded, wordsAdded.size()));
+  }
+}
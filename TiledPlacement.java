@@ -0,0 +1,154 @@
+import java.util.*;
+import java.util.random.*;
+import java.util.stream.*;
+
+/**Places words on very large grids by splitting the grid into square tiles
+ *and filling many tiles at once. Each word is dealt to a tile and starts
+ *inside it, but may run up to half a tile past its edges. Tiles are done in
+ *four rounds, like the squares of a 2x2 checkerboard, and tiles in the same
+ *round are a whole tile apart, so they never touch the same cells and can run
+ *on the fork-join pool together. Words that do not fit in their tile are
+ *tried once more anywhere on the grid in a final sequential pass, which is
+ *where words crossing tile borders end up.
+ *
+ *Each tile draws from its own generator, split from randgen in tile order,
+ *so the result depends only on the seed and not on thread timing. Apart
+ *from the grid itself, memory use is one list of words per tile.
+ */
+public class TiledPlacement implements PlacementStrategy {
+  private int tileSize;
+  private int tries;
+
+  public TiledPlacement() {
+    this(256, 100);
+  }
+
+  /**@param tileSize is the width and height of a tile
+   *@param tries is the number of random positions tried for each word,
+   *both in its tile and again in the final pass
+   */
+  public TiledPlacement(int tileSize, int tries) {
+    if (tileSize < 2 || tries < 1) {
+      throw new IllegalArgumentException("tileSize must be at least 2 and tries at least 1!");
+    }
+    this.tileSize = tileSize;
+    this.tries = tries;
+  }
+
+  public void addAllWords(WordSearch puzzle, RandomGenerator randgen, List<String> wordsToAdd, List<String> wordsAdded) {
+    Grid grid = puzzle.getGrid();
+    int firstAdded = wordsAdded.size();
+    int tileRows = (grid.getRows() + tileSize - 1) / tileSize;
+    int tileCols = (grid.getCols() + tileSize - 1) / tileSize;
+    int tiles = tileRows * tileCols;
+    if (tiles == 0) {
+      return;
+    }
+
+    //deal the words out round robin after shuffling, so every tile gets
+    //a similar mix
+    List<String> words = new ArrayList<String>(wordsToAdd);
+    PlacementStrategy.shuffle(words, randgen);
+    List<List<String>> dealt = new ArrayList<List<String>>();
+    SplittableRandom[] tileRandom = new SplittableRandom[tiles];
+    for (int t = 0; t < tiles; t++) {
+      dealt.add(new ArrayList<String>());
+      tileRandom[t] = new SplittableRandom(randgen.nextLong());
+    }
+    for (int i = 0; i < words.size(); i++) {
+      dealt.get(i % tiles).add(words.get(i));
+    }
+
+    List<List<Placement>> placed = new ArrayList<List<Placement>>();
+    List<List<String>> leftOver = new ArrayList<List<String>>();
+    GenerationMetrics[] tileMetrics = new GenerationMetrics[tiles];
+    for (int t = 0; t < tiles; t++) {
+      placed.add(new ArrayList<Placement>());
+      leftOver.add(new ArrayList<String>());
+      if (puzzle.getMetrics() != null) {
+        tileMetrics[t] = new GenerationMetrics();
+      }
+    }
+    for (int round = 0; round < 4; round++) {
+      int rowParity = round / 2;
+      int colParity = round % 2;
+      IntStream.range(0, tiles).parallel()
+        .filter(t -> t / tileCols % 2 == rowParity && t % tileCols % 2 == colParity)
+        .forEach(t -> fillTile(grid, t / tileCols, t % tileCols, dealt.get(t), tileRandom[t], tileMetrics[t], placed.get(t), leftOver.get(t)));
+    }
+
+    for (int t = 0; t < tiles; t++) {
+      for (Placement p : placed.get(t)) {
+        puzzle.addPlacement(p);
+        wordsAdded.add(p.getWord());
+      }
+      if (tileMetrics[t] != null) {
+        puzzle.getMetrics().add(tileMetrics[t]);
+      }
+    }
+
+    //the merge pass: anything that did not fit in its tile may go anywhere
+    for (int t = 0; t < tiles; t++) {
+      for (String word : leftOver.get(t)) {
+        for (int i = 0; i < tries; i++) {
+          int dir = randgen.nextInt(8);
+          if (puzzle.addWord(word, randgen.nextInt(grid.getRows()), randgen.nextInt(grid.getCols()), Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir])) {
+            wordsAdded.add(word);
+            break;
+          }
+        }
+      }
+    }
+    PlacementStrategy.removePlaced(wordsToAdd, wordsAdded.subList(firstAdded, wordsAdded.size()));
+  }
+
+  /**Places a tile's words with random starts inside the tile. Words may reach
+   *half a tile beyond it, which is as far as they can go without touching
+   *a tile being filled at the same time.
+   */
+  private void fillTile(Grid grid, int tileRow, int tileCol, List<String> words, SplittableRandom rand,
+                        GenerationMetrics metrics, List<Placement> placed, List<String> leftOver) {
+    int margin = tileSize / 2;
+    int top = tileRow * tileSize;
+    int left = tileCol * tileSize;
+    int height = Math.min(tileSize, grid.getRows() - top);
+    int width = Math.min(tileSize, grid.getCols() - left);
+    int minRow = Math.max(0, top - margin);
+    int maxRow = Math.min(grid.getRows(), top + height + margin) - 1;
+    int minCol = Math.max(0, left - margin);
+    int maxCol = Math.min(grid.getCols(), left + width + margin) - 1;
+    for (String word : words) {
+      int length = Alphabet.length(word);
+      boolean done = false;
+      for (int i = 0; i < tries && !done; i++) {
+        int row = top + rand.nextInt(height);
+        int col = left + rand.nextInt(width);
+        int dir = rand.nextInt(8);
+        int endRow = row + (length - 1) * Grid.ROW_DIRS[dir];
+        int endCol = col + (length - 1) * Grid.COL_DIRS[dir];
+        if (metrics != null) {
+          metrics.countAttempt();
+        }
+        if (word.isEmpty() || endRow < minRow || endRow > maxRow || endCol < minCol || endCol > maxCol) {
+          if (metrics != null) {
+            metrics.countOutOfBounds();
+          }
+          continue;
+        }
+        int start = grid.index(row, col);
+        if (grid.check(word, start, dir) < 0) {
+          if (metrics != null) {
+            metrics.countConflict();
+          }
+          continue;
+        }
+        grid.place(word, start, dir, null);
+        placed.add(new Placement(word, row, col, Grid.ROW_DIRS[dir], Grid.COL_DIRS[dir]));
+        done = true;
+      }
+      if (!done) {
+        leftOver.add(word);
+      }
+    }
+  }
+}
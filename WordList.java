@@ -0,0 +1,109 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+
+/**An immutable word list: upper case, without duplicates, in the order the
+ *words first appear. Lists read from a file are cached by path, and reused
+ *until the file's modification time or size changes, so building many
+ *puzzles from one file (even on many threads at once) reads it only once.
+ */
+public final class WordList extends AbstractList<String> implements RandomAccess {
+  private static final ConcurrentHashMap<Path, WordList> CACHE = new ConcurrentHashMap<Path, WordList>();
+
+  private final String[] words;
+  private final FileTime modified;
+  private final long size;
+
+  private WordList(Collection<String> words, FileTime modified, long size) {
+    this.words = words.toArray(new String[words.size()]);
+    this.modified = modified;
+    this.size = size;
+  }
+
+  /**@param words are the words to use, in any case and possibly repeated
+   *@return the words as a WordList; nothing is read from disk or cached
+   */
+  public static WordList of(Collection<String> words) {
+    Set<String> unique = new LinkedHashSet<String>();
+    for (String word : words) {
+      unique.add(word.toUpperCase(Locale.ROOT));
+    }
+    return new WordList(unique, null, -1);
+  }
+
+  /**Reads every whitespace separated word in a UTF-8 file, or returns the
+   *cached list if the file has not changed since it was last read.
+   *@param fileName is the name of the file containing the word list
+   */
+  public static WordList load(String fileName) throws IOException {
+    Path path = Paths.get(fileName).toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    WordList cached = CACHE.get(path);
+    if (cached != null && cached.isCurrent(attributes)) {
+      return cached;
+    }
+    //compute holds the entry's lock, so threads asking for the same file
+    //wait for one read instead of all reading it
+    try {
+      return CACHE.compute(path, (key, current) -> {
+        if (current != null && current.isCurrent(attributes)) {
+          return current;
+        }
+        try {
+          return read(key, attributes);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private boolean isCurrent(BasicFileAttributes attributes) {
+    return attributes.lastModifiedTime().equals(modified) && attributes.size() == size;
+  }
+
+  /**Maps the file into memory, decodes it and splits it on any whitespace
+   *Character.isWhitespace knows, such as the ideographic space U+3000, not
+   *just ASCII. Bytes that are not valid UTF-8 become U+FFFD.
+   */
+  private static WordList read(Path path, BasicFileAttributes attributes) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IOException("Word list is too large: " + path);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      CharBuffer chars = StandardCharsets.UTF_8.decode(buffer);
+      Set<String> unique = new LinkedHashSet<String>();
+      int start = -1;
+      for (int i = 0; i <= chars.length(); ) {
+        int c = i < chars.length() ? Character.codePointAt(chars, i) : ' ';
+        if (Character.isWhitespace(c)) {
+          if (start >= 0) {
+            unique.add(chars.subSequence(start, i).toString().toUpperCase(Locale.ROOT));
+            start = -1;
+          }
+        } else if (start < 0) {
+          start = i;
+        }
+        i += Character.charCount(c);
+      }
+      return new WordList(unique, attributes.lastModifiedTime(), attributes.size());
+    }
+  }
+
+  public String get(int index) {
+    return words[index];
+  }
+
+  public int size() {
+    return words.length;
+  }
+}
@@ -1,12 +1,19 @@
 import java.util.*;
+import java.util.random.*;
+import java.util.stream.*;
 import java.io.*;
 
 public class WordSearch {
-  private char[][] data;
+  private Grid data;
   private int seed;
-  private Random randgen;
+  private SeedFormat seedFormat;
+  private RandomGenerator randgen;
   private ArrayList<String> wordsToAdd;
   private ArrayList<String> wordsAdded;
+  private ArrayList<Placement> placements;
+  private long placementTime;
+  private GenerationMetrics metrics;
+  private DifficultyScore difficulty;
 
   /**Initialize the grid to the size specified
    *and fill all of the positions with '_'
@@ -19,76 +26,235 @@ public class WordSearch {
    */
 
   public WordSearch(int rows, int cols, String fileName, int randSeed, boolean key) {
+    this(rows, cols, readWords(fileName), randSeed, key);
+  }
+
+  /**Initialize the grid to the size specified using a word list that has
+   *already been read. The list is copied, so one list can be shared by many
+   *puzzles (including puzzles built on other threads).
+   *@param rows is the starting height of the WordSearch
+   *@param cols is the starting width of the WordSearch
+   *@param words is the word list to draw from; it is never modified
+   *@param randSeed is the seed for the random generation of the WordSearch
+   *@param key dictates whether the random letters should be omitted from the
+   *WordSearch
+   */
+  public WordSearch(int rows, int cols, List<String> words, int randSeed, boolean key) {
+    this(rows, cols, words, randSeed, key, new WordSearchOptions());
+  }
+
+  /**Initialize the grid to the size specified, generating it as described by
+   *options instead of with the defaults.
+   *@param rows is the starting height of the WordSearch
+   *@param cols is the starting width of the WordSearch
+   *@param words is the word list to draw from; it is never modified
+   *@param randSeed is the seed for the random generation of the WordSearch
+   *@param key dictates whether the random letters should be omitted from the
+   *WordSearch
+   *@param options are the placement strategy, blocklist and so on; without
+   *an alphabet, LATIN is used for words spelt with A-Z alone and the letters
+   *of the words (weighted by use) otherwise
+   */
+  public WordSearch(int rows, int cols, List<String> words, int randSeed, boolean key, WordSearchOptions options) {
     if (rows < 0 || cols < 0) {
       throw new IllegalArgumentException("WordSearch dimensions out of bounds!");
     }
-    data = new char[rows][cols];
-    wordsToAdd = new ArrayList<String>();
+    Alphabet alphabet = options.getAlphabet() != null ? options.getAlphabet() : Alphabet.forWords(words);
+    if (options.getGridFile() == null) {
+      data = new Grid(rows, cols, alphabet);
+    } else {
+      try {
+        data = new MappedGrid(rows, cols, alphabet, options.getGridFile());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    wordsToAdd = new ArrayList<String>(words);
     wordsAdded = new ArrayList<String>();
+    placements = new ArrayList<Placement>();
     clear();
-    try {
-      Scanner in = new Scanner(new File(fileName));
-      while (in.hasNext()) {
-        String x = in.next();
-        wordsToAdd.add(x);
-      }
-    } catch(FileNotFoundException e){
-      System.out.println("File not found: " + fileName);
-      System.exit(1);
+    if (options.getCollectMetrics()) {
+      metrics = new GenerationMetrics();
     }
+    PuzzleGeneratedEvent event = new PuzzleGeneratedEvent();
+    event.begin();
     seed = randSeed;
-    randgen = new Random(seed);
-    addAllWords();
+    seedFormat = options.getSeedFormat();
+    randgen = newRandom(seed, seedFormat);
+    long start = System.nanoTime();
+    options.getStrategy().addAllWords(this, randgen, wordsToAdd, wordsAdded);
+    placementTime = System.nanoTime() - start;
+    if (metrics != null) {
+      metrics.finishPlacement(wordsAdded.size(), wordsToAdd.size(), placementTime);
+    }
     if (!key) {
-      fillRandom();
+      start = System.nanoTime();
+      fillRandom(options.getBlocklist());
+      if (metrics != null) {
+        metrics.addFillTime(System.nanoTime() - start);
+      }
+    }
+    if (event.shouldCommit()) {
+      event.rows = rows;
+      event.cols = cols;
+      event.seed = seed;
+      event.wordsPlaced = wordsAdded.size();
+      event.wordsDropped = wordsToAdd.size();
+      event.placementTime = placementTime;
+      event.commit();
+    }
+  }
+
+  /**Rebuilds a puzzle saved by PuzzleFile around its stored grid; nothing is
+   *generated. The random generator starts over from the seed.
+   */
+  WordSearch(Grid grid, int randSeed, SeedFormat seedFormat, List<String> wordsAdded, List<Placement> placements) {
+    data = grid;
+    seed = randSeed;
+    this.seedFormat = seedFormat;
+    randgen = newRandom(seed, seedFormat);
+    wordsToAdd = new ArrayList<String>();
+    this.wordsAdded = new ArrayList<String>(wordsAdded);
+    this.placements = new ArrayList<Placement>(placements);
+  }
+
+  private static RandomGenerator newRandom(int seed, SeedFormat seedFormat) {
+    if (seedFormat == SeedFormat.V1) {
+      return new Random(seed);
+    }
+    return new SplittableRandom(seed);
+  }
+
+  /**Reads every whitespace separated word in a file, upper cased and without
+   *duplicates. The file is only read again once it changes; see WordList.
+   *@param fileName is the name of the file containing the word list
+   *@return the words in the order they first appear in the file
+   */
+  public static List<String> readWords(String fileName) {
+    try {
+      return WordList.load(fileName);
+    } catch(IOException e){
+      System.out.println("File not found: " + fileName);
+      System.exit(1);
+      return null;
     }
   }
 
   /**Set all values in the WordSearch to underscores'_'*/
   private void clear() {
-    for (int i = 0; i < data.length; i++) {
-      for (int j = 0; j < data[i].length; j++) {
-        data[i][j] = '_';
-      }
-    }
+    data.clear();
   }
 
-  /**Attempts to add all words in wordsToAdd to the WordGrid. Each word
-   *is chosen at random and assigned a random direction and position. If the
-   *word cannot be added using addWord, another attempt is made with a
-   *different starting position. Once a number of tries equal to the number
-   *of possible starting positions has been made, the word is skipped.
-   */
-  private void addAllWords() {
-    boolean wordStop = false;
-    int wordTries = wordsToAdd.size() * 3;
-    while (!(wordStop || wordsToAdd.isEmpty())) {
-      int tries = data.length * data[0].length;
-      int xDir = randgen.nextInt(3) - 1;
-      int yDir = randgen.nextInt(3) - 1;
-      boolean stop =  false;
-      String word = wordsToAdd.get(randgen.nextInt(wordsToAdd.size()));
-      while (!stop) {
-        int x = randgen.nextInt(data.length);
-        int y = randgen.nextInt(data[0].length);
-        //System.out.println("Attempting to add " + word + " to " + (x%data.length) + ", "+(y%data[0].length) +" with xDir="+xDir+",yDir="+yDir+"...");
-        stop = addWord(word, x, y, xDir, yDir) || tries <= 0;
-        if (xDir == 0 && yDir == 0) {
-          xDir = randgen.nextInt(2) - 1;
-          yDir = randgen.nextInt(2) - 1;
-        }
-        tries--;
-      }
-      if (tries > 0) {
-        wordsAdded.add(word);
-        wordsToAdd.remove(word);
-      } else {
-        wordTries--;
-      }
-      if (wordTries <= 0) {
-        wordStop = true;
-      }
+  public int getRows() {
+    return data.getRows();
+  }
+
+  public int getCols() {
+    return data.getCols();
+  }
+
+  /**@return the letter at the given position, or '_' if it is empty. A
+   *letter outside the Basic Multilingual Plane does not fit in a char and
+   *comes back as '\uFFFD'; getCodePoint returns every letter whole.
+   */
+  public char getLetter(int row, int col) {
+    int letter = data.get(row, col);
+    return Character.isBmpCodePoint(letter) ? (char)letter : '\uFFFD';
+  }
+
+  /**@return the code point of the letter at the given position, or '_' if it
+   *is empty
+   */
+  public int getCodePoint(int row, int col) {
+    return data.get(row, col);
+  }
+
+  /**@return the letters the grid can hold*/
+  public Alphabet getAlphabet() {
+    return data.getAlphabet();
+  }
+
+  /**@return the grid itself, for placement strategies that work on it directly*/
+  Grid getGrid() {
+    return data;
+  }
+
+  public int getSeed() {
+    return seed;
+  }
+
+  public SeedFormat getSeedFormat() {
+    return seedFormat;
+  }
+
+  /**@return the words in the WordSearch, in the order they were added*/
+  public List<String> getWordsAdded() {
+    return Collections.unmodifiableList(wordsAdded);
+  }
+
+  /**@return where every word written into the grid went*/
+  public List<Placement> getPlacements() {
+    return Collections.unmodifiableList(placements);
+  }
+
+  /**Records a word that a placement strategy wrote into the grid directly*/
+  void addPlacement(Placement placement) {
+    placements.add(placement);
+  }
+
+  /**Lists a word whose letters are already in the grid, at the given
+   *positions among the words added and the placements. The two lists are
+   *not always parallel: RandomPlacement can write a word without listing it.
+   */
+  void insertPlacement(int wordIndex, int placementIndex, Placement placement) {
+    wordsAdded.add(wordIndex, placement.getWord());
+    placements.add(placementIndex, placement);
+  }
+
+  /**Replaces a placement with one for the same word somewhere else.*/
+  void setPlacement(int placementIndex, Placement placement) {
+    placements.set(placementIndex, placement);
+  }
+
+  /**Stops listing a word; its letters stay in the grid.
+   *@return where the word was
+   */
+  Placement removePlacement(int wordIndex, int placementIndex) {
+    wordsAdded.remove(wordIndex);
+    return placements.remove(placementIndex);
+  }
+
+  /**@return the counters and timers for this puzzle, or null unless it was
+   *built with WordSearchOptions.setCollectMetrics(true)
+   */
+  public GenerationMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**@return how hard the puzzle is, or null unless it was placed by
+   *DifficultyPlacement
+   */
+  public DifficultyScore getDifficulty() {
+    return difficulty;
+  }
+
+  /**Starts keeping a difficulty score, which the fill then steers toward too*/
+  void setDifficulty(DifficultyScore difficulty) {
+    this.difficulty = difficulty;
+  }
+
+  /**@return the number of nanoseconds the placement strategy took*/
+  public long getPlacementTime() {
+    return placementTime;
+  }
+
+  /**@return the fraction of the word list that made it into the WordSearch*/
+  public double getSuccessRate() {
+    int total = wordsAdded.size() + wordsToAdd.size();
+    if (total == 0) {
+      return 1.0;
     }
+    return (double)wordsAdded.size() / total;
   }
 
   /**Attempts to add a given word to the specified position of the WordGrid.
@@ -104,18 +270,32 @@ public class WordSearch {
    *        false when: the word doesn't fit, OR  rowIncrement and colIncrement are both 0,
    *        OR there are overlapping letters that do not match
    */
-   private boolean addWord(String word, int row, int col, int rowIncrement, int colIncrement) {
-     if (rowIncrement == 0 && colIncrement == 0 || row < 0 || row >= data.length || col < 0 || col >= data[0].length || word.length() >= data[0].length || word.length() >= data.length) {
+   boolean addWord(String word, int row, int col, int rowIncrement, int colIncrement) {
+     if (metrics != null) {
+       metrics.countAttempt();
+     }
+     int dir = Grid.direction(rowIncrement, colIncrement);
+     if (dir < 0) {
+       if (metrics != null) {
+         metrics.countZeroDirection();
+       }
        return false;
      }
-     for (int i = 0; i < word.length(); i++) {
-       if (row+i*rowIncrement>=data.length||row+i*rowIncrement<0||col+i*colIncrement>=data[i].length||col+i*colIncrement<0||data[row+i*rowIncrement][col+i*colIncrement] != '_' && data[row+i*rowIncrement][col+i*colIncrement] != word.charAt(i)) {
-         return false;
+     if (!data.fits(row, col, dir, Alphabet.length(word))) {
+       if (metrics != null) {
+         metrics.countOutOfBounds();
        }
+       return false;
      }
-     for (int i = 0; i < word.length(); i++) {
-       data[row+i*rowIncrement][col+i*colIncrement] = word.charAt(i);
+     int start = data.index(row, col);
+     if (data.check(word, start, dir) < 0) {
+       if (metrics != null) {
+         metrics.countConflict();
+       }
+       return false;
      }
+     data.place(word, start, dir, null);
+     placements.add(new Placement(word, row, col, rowIncrement, colIncrement));
      return true;
    }
 
@@ -124,36 +304,172 @@ public class WordSearch {
    *separated by newlines.
    */
   public String toString() {
-    String ans = "";
-    for (int i = 0; i < data.length; i++) {
-      ans += "|";
-      for (int j = 0; j < data[i].length; j++) {
-        if (data[i][j] == '_') {
-          ans += "  ";
-        } else {
-          ans += data[i][j] + " ";
+    StringBuilder ans = new StringBuilder(PuzzleRenderer.estimateSize(this));
+    try {
+      PuzzleRenderer.render(this, PuzzleRenderer.Format.TEXT, ans);
+    } catch (IOException e) {
+      //a StringBuilder never throws
+      throw new UncheckedIOException(e);
+    }
+    return ans.toString();
+  }
+
+  /**Fills every empty position with a random letter, without spelling a
+   *second copy of an added word or a blocked word in any direction.
+   *@param blocklist are words that must not be spelled by random letters
+   */
+  void fillRandom(Collection<String> blocklist) {
+    List<String> banned = new ArrayList<String>(wordsAdded);
+    banned.addAll(blocklist);
+    WordSearchSolver checker = new WordSearchSolver(banned, data.getAlphabet());
+    if (difficulty != null) {
+      plantDecoys(checker);
+    }
+    if (seedFormat == SeedFormat.V1) {
+      fillSequential(checker);
+    } else {
+      fillParallel(checker);
+    }
+  }
+
+  /**Writes the first few letters of added words into empty cells until the
+   *difficulty score has as many decoys as it wants. A decoy that would
+   *itself spell a banned word is taken out again, and the fill's own check
+   *keeps the random letters around a decoy from finishing it. Only these
+   *are counted as decoys, not prefixes the random letters spell by chance
+   *(see DifficultyScore).
+   */
+  private void plantDecoys(WordSearchSolver checker) {
+    int attempts = wordsAdded.size() * 50;
+    for (int i = 0; i < attempts && difficulty.wantsDecoy(); i++) {
+      int[] codes = data.getAlphabet().encode(wordsAdded.get(randgen.nextInt(wordsAdded.size())));
+      if (codes.length < 3) {
+        continue;
+      }
+      //two or three letters, which fit in the gaps between words
+      int length = 2 + randgen.nextInt(Math.min(2, codes.length - 2));
+      int dir = randgen.nextInt(8);
+      int row = randgen.nextInt(getRows());
+      int col = randgen.nextInt(getCols());
+      if (!data.fits(row, col, dir, length)) {
+        continue;
+      }
+      int start = data.index(row, col);
+      int stride = data.stride(dir);
+      boolean empty = true;
+      for (int j = 0; j < length && empty; j++) {
+        empty = data.getCode(start + j * stride) == Grid.EMPTY;
+      }
+      if (!empty) {
+        continue;
+      }
+      boolean spells = false;
+      for (int j = 0; j < length; j++) {
+        data.setCode(start + j * stride, codes[j]);
+      }
+      for (int j = 0; j < length && !spells; j++) {
+        spells = checker.spellsWordThrough(data, start + j * stride);
+      }
+      if (spells) {
+        for (int j = 0; j < length; j++) {
+          data.setCode(start + j * stride, Grid.EMPTY);
         }
+      } else {
+        difficulty.countDecoy();
       }
-      ans += "\b|\n";
     }
-    ans += "Words: ";
-    for (int i = 0; i < wordsAdded.size(); i++) {
-      ans += wordsAdded.get(i) + ", ";
+  }
+
+  /**The V1 fill: one cell at a time in row-major order. After each letter is
+   *placed, only the lines through that position are checked. The checks
+   *stop at empty positions, so each match is caught by the last of its
+   *letters to be filled, and the random sequence is the same as an
+   *unchecked fill.
+   */
+  private void fillSequential(WordSearchSolver checker) {
+    Alphabet alphabet = data.getAlphabet();
+    int size = alphabet.size();
+    for (int i = 0; i < data.size(); i++) {
+      if (data.getCode(i) == Grid.EMPTY) {
+        //the original draw, kept so seeds give the same puzzles as ever
+        int code = alphabet.isUniform() ? Math.abs(randgen.nextInt() % size) + 1 : alphabet.random(randgen);
+        data.setCode(i, code);
+        repick(checker, i, code);
+      }
     }
-    ans += "\b\b (seed: " + seed + ")";
-    return ans;
   }
 
-  private void fillRandom() {
-    for (int i = 0; i < data.length; i++) {
-      for (int j = 0; j < data[i].length; j++) {
-        if (data[i][j] == '_') {
-          data[i][j] = (char)(Math.abs((randgen.nextInt()) % 26) + 'A');
+  /**The V2 fill. Each row gets its own generator, split from randgen in row
+   *order, so rows can be filled in parallel and still give the same letters
+   *every time. The finished fill is then checked in parallel, and only the
+   *cells that spell something are repaired, one at a time in row-major order.
+   *Repairing a cell rules out every match through it, so no repair can
+   *undo an earlier one. The only extra memory is one bit per cell (which
+   *cells are random) plus the cells to repair, kept per row so no two
+   *threads share an array.
+   */
+  private void fillParallel(WordSearchSolver checker) {
+    SplittableRandom root = (SplittableRandom)randgen;
+    Alphabet alphabet = data.getAlphabet();
+    int rows = data.getRows();
+    int cols = data.getCols();
+    SplittableRandom[] rowRandom = new SplittableRandom[rows];
+    for (int r = 0; r < rows; r++) {
+      rowRandom[r] = root.split();
+    }
+    long[][] random = new long[rows][];
+    IntStream.range(0, rows).parallel().forEach(r -> {
+      long[] bits = new long[(cols + 63) / 64];
+      for (int c = 0; c < cols; c++) {
+        int i = r * cols + c;
+        if (data.getCode(i) == Grid.EMPTY) {
+          bits[c / 64] |= 1L << c;
+          data.setCode(i, alphabet.random(rowRandom[r]));
+        }
+      }
+      random[r] = bits;
+    });
+    int[][] repairs = new int[rows][];
+    IntStream.range(0, rows).parallel().forEach(r -> {
+      int[] found = new int[4];
+      int count = 0;
+      for (int c = 0; c < cols; c++) {
+        int i = r * cols + c;
+        if ((random[r][c / 64] & 1L << c) != 0 && checker.spellsWordThrough(data, i)) {
+          if (count == found.length) {
+            found = Arrays.copyOf(found, count * 2);
+          }
+          found[count] = i;
+          count++;
         }
       }
+      repairs[r] = Arrays.copyOf(found, count);
+    });
+    for (int r = 0; r < rows; r++) {
+      for (int i : repairs[r]) {
+        repick(checker, i, data.getCode(i) & 0xFF);
+      }
     }
   }
 
+  /**Moves a random letter along the alphabet until the lines through it
+   *spell nothing. If every letter spells something, the last pass puts back
+   *the one that was drawn.
+   */
+  private void repick(WordSearchSolver checker, int index, int code) {
+    Alphabet alphabet = data.getAlphabet();
+    int next = code;
+    while (checker.spellsWordThrough(data, index)) {
+      next = alphabet.next(next);
+      data.setCode(index, next);
+      if (metrics != null) {
+        metrics.countRepick();
+      }
+      if (next == code) {
+        break;
+      }
+    }
+  }
 
   public static void main(String[] args) {
     switch (args.length) {
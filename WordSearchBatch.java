@@ -0,0 +1,69 @@
+import java.util.*;
+import java.util.stream.*;
+import java.io.*;
+import java.nio.charset.*;
+
+public class WordSearchBatch {
+  /**Number of puzzles generated before they are written out, so a huge seed
+   *range never has to be held in memory all at once.
+   */
+  private static final int BLOCK_SIZE = 1024;
+
+  /**Generates one puzzle for every seed from firstSeed to lastSeed (inclusive)
+   *on all available cores. The word list is only read once and shared by
+   *every puzzle, and each puzzle is identical to
+   *new WordSearch(rows, cols, fileName, seed, key) for its seed.
+   *@param rows is the height of every puzzle
+   *@param cols is the width of every puzzle
+   *@param words is the word list shared by every puzzle
+   *@param firstSeed is the seed of the first puzzle
+   *@param lastSeed is the seed of the last puzzle
+   *@param key dictates whether the random letters should be omitted
+   *@return the puzzles, in seed order
+   */
+  public static WordSearch[] generate(int rows, int cols, List<String> words, int firstSeed, int lastSeed, boolean key) {
+    if (lastSeed < firstSeed) {
+      throw new IllegalArgumentException("Seed range is empty!");
+    }
+    List<String> shared = Collections.unmodifiableList(new ArrayList<String>(words));
+    return IntStream.rangeClosed(firstSeed, lastSeed)
+      .parallel()
+      .mapToObj(seed -> new WordSearch(rows, cols, shared, seed, key))
+      .toArray(WordSearch[]::new);
+  }
+
+  /**Generates and prints every puzzle in the seed range, one block at a time,
+   *in UTF-8 whatever the platform's default charset is.
+   */
+  public static void print(int rows, int cols, List<String> words, int firstSeed, int lastSeed, boolean key, PrintStream out) {
+    PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    for (long start = firstSeed; start <= lastSeed; start += BLOCK_SIZE) {
+      int end = (int)Math.min(lastSeed, start + BLOCK_SIZE - 1);
+      WordSearch[] block = generate(rows, cols, words, (int)start, end, key);
+      for (int i = 0; i < block.length; i++) {
+        try {
+          PuzzleRenderer.render(block[i], PuzzleRenderer.Format.TEXT, writer);
+        } catch (IOException e) {
+          //a PrintWriter never throws
+          throw new UncheckedIOException(e);
+        }
+        writer.println();
+        writer.println();
+      }
+    }
+    writer.flush();
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 5 || args.length > 6) {
+      System.out.println("usage: [rows] [cols] [filename] [firstSeed] [lastSeed] [key]");
+      return;
+    }
+    try {
+      List<String> words = WordSearch.readWords(args[2]);
+      print(Integer.parseInt(args[0]), Integer.parseInt(args[1]), words, Integer.parseInt(args[3]), Integer.parseInt(args[4]), args.length == 6 && args[5].equals("key"), System.out);
+    } catch (IllegalArgumentException e) {
+      System.out.println("usage: [rows] [cols] [filename] [firstSeed] [lastSeed] [key]");
+    }
+  }
+}
@@ -0,0 +1,191 @@
+import java.util.*;
+import java.lang.management.*;
+
+/**Times the hot paths of WordSearch over a matrix of grid sizes and word
+ *list sizes, reporting throughput, latency percentiles and bytes allocated
+ *per operation. Each case is warmed up before it is measured, and every
+ *operation uses its own seed so the JIT cannot specialise on one puzzle.
+ *
+ *A word count ending in % is a fill density instead: enough words for
+ *their letters to cover that fraction of the cells, so placement can be
+ *compared on sparse and crowded grids of any size. Each line reports the
+ *density the list offers, whatever was asked for.
+ *
+ *usage: java WordSearchBenchmark [sizes] [wordCounts] [seconds]
+ *e.g.   java WordSearchBenchmark 10,100,1000 10,100 2
+ *       java WordSearchBenchmark 20,50,200 25%,50%,100% 1
+ */
+public class WordSearchBenchmark {
+  private static final String[] OPERATIONS = {"constructor", "addAllWords", "slotPlacement", "addWord", "fillRandom", "toString"};
+
+  private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+  /**The mean length of the words from words()*/
+  private static final double MEAN_LENGTH = 7.5;
+
+  /**@return count distinct words of 3 to 12 letters, always the same for a given count*/
+  static List<String> words(int count) {
+    Random rand = new Random(count);
+    Set<String> words = new LinkedHashSet<String>();
+    while (words.size() < count) {
+      int length = 3 + rand.nextInt(10);
+      StringBuilder word = new StringBuilder(length);
+      for (int i = 0; i < length; i++) {
+        word.append((char)('A' + rand.nextInt(26)));
+      }
+      words.add(word.toString());
+    }
+    return new ArrayList<String>(words);
+  }
+
+  /**Runs one operation once on a puzzle that was set up (untimed) for it.
+   *@return something derived from the result, so the work is not optimised away
+   */
+  private static long run(String operation, int size, List<String> words, int seed) {
+    switch (operation) {
+      case "constructor":
+        return new WordSearch(size, size, words, seed, false).getWordsAdded().size();
+      case "addAllWords": {
+        WordSearch puzzle = new WordSearch(size, size, Collections.<String>emptyList(), seed, true);
+        List<String> added = new ArrayList<String>();
+        long start = begin();
+        new RandomPlacement().addAllWords(puzzle, new Random(seed), new ArrayList<String>(words), added);
+        return end(start, added.size());
+      }
+      case "slotPlacement": {
+        WordSearch puzzle = new WordSearch(size, size, Collections.<String>emptyList(), seed, true);
+        List<String> added = new ArrayList<String>();
+        long start = begin();
+        new SlotPlacement().addAllWords(puzzle, new Random(seed), new ArrayList<String>(words), added);
+        return end(start, added.size());
+      }
+      case "addWord": {
+        WordSearch puzzle = new WordSearch(size, size, words, seed, true);
+        Random rand = new Random(seed);
+        int added = 0;
+        long start = begin();
+        for (int i = 0; i < 1000; i++) {
+          String word = words.get(rand.nextInt(words.size()));
+          if (puzzle.addWord(word, rand.nextInt(size), rand.nextInt(size), rand.nextInt(3) - 1, rand.nextInt(3) - 1)) {
+            added++;
+          }
+        }
+        return end(start, added);
+      }
+      case "fillRandom": {
+        WordSearch puzzle = new WordSearch(size, size, words, seed, true);
+        long start = begin();
+        puzzle.fillRandom(Collections.<String>emptySet());
+        return end(start, puzzle.getLetter(0, 0));
+      }
+      case "toString": {
+        WordSearch puzzle = new WordSearch(size, size, words, seed, false);
+        long start = begin();
+        return end(start, puzzle.toString().length());
+      }
+      default:
+        throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+  }
+
+  //operations with untimed setup report their own timing through these
+  private static long timedNanos;
+  private static long timedBytes;
+  private static boolean selfTimed;
+
+  private static long begin() {
+    selfTimed = true;
+    timedBytes = THREADS.getCurrentThreadAllocatedBytes();
+    return System.nanoTime();
+  }
+
+  private static long end(long start, long result) {
+    timedNanos = System.nanoTime() - start;
+    timedBytes = THREADS.getCurrentThreadAllocatedBytes() - timedBytes;
+    return result;
+  }
+
+  //results are folded in here so the JIT cannot drop the work
+  private static volatile long blackhole;
+
+  private static void measure(String operation, int size, List<String> words, double seconds) {
+    long sink = 0;
+    int seed = 0;
+    long warmupEnd = System.nanoTime() + (long)(seconds * 0.3e9);
+    while (System.nanoTime() < warmupEnd) {
+      sink += run(operation, size, words, seed++);
+    }
+    List<Long> times = new ArrayList<Long>();
+    long bytes = 0;
+    long total = 0;
+    long measureEnd = System.nanoTime() + (long)(seconds * 1e9);
+    while (System.nanoTime() < measureEnd || times.size() < 5) {
+      selfTimed = false;
+      long allocated = THREADS.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      sink += run(operation, size, words, seed++);
+      long elapsed = System.nanoTime() - start;
+      allocated = THREADS.getCurrentThreadAllocatedBytes() - allocated;
+      if (selfTimed) {
+        elapsed = timedNanos;
+        allocated = timedBytes;
+      }
+      times.add(elapsed);
+      total += elapsed;
+      bytes += allocated;
+    }
+    blackhole = sink;
+    Collections.sort(times);
+    int n = times.size();
+    long letters = 0;
+    for (String word : words) {
+      letters += word.length();
+    }
+    System.out.printf("%-12s %6dx%-6d %6d words %5.0f%% %12.1f ops/s %11.1f %11.1f %11.1f us (p50/p90/p99) %14d B/op%n",
+                      operation, size, size, words.size(), letters * 100.0 / ((long)size * size), n * 1e9 / total,
+                      times.get(n / 2) / 1e3, times.get(n * 9 / 10) / 1e3, times.get(Math.min(n - 1, n * 99 / 100)) / 1e3,
+                      bytes / n);
+  }
+
+  /**@param count is a number of words, or a percentage of the cells their
+   *letters should cover
+   */
+  private static int wordCount(String count, int size) {
+    if (!count.endsWith("%")) {
+      return Integer.parseInt(count);
+    }
+    double density = Double.parseDouble(count.substring(0, count.length() - 1)) / 100;
+    if (!(density > 0)) {
+      throw new IllegalArgumentException("Density must be positive: " + count);
+    }
+    return (int)Math.max(1, Math.round(density * size * size / MEAN_LENGTH));
+  }
+
+  private static int[] parseList(String list) {
+    String[] parts = list.split(",");
+    int[] values = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      values[i] = Integer.parseInt(parts[i].trim());
+    }
+    return values;
+  }
+
+  public static void main(String[] args) {
+    try {
+      int[] sizes = parseList(args.length > 0 ? args[0] : "10,50,200,1000,2000");
+      String[] wordCounts = (args.length > 1 ? args[1] : "10,100,1000").split(",");
+      double seconds = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+      THREADS.setThreadAllocatedMemoryEnabled(true);
+      for (int size : sizes) {
+        for (String count : wordCounts) {
+          List<String> words = words(wordCount(count.trim(), size));
+          for (String operation : OPERATIONS) {
+            measure(operation, size, words, seconds);
+          }
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      System.out.println("usage: [sizes] [wordCounts] [seconds]");
+    }
+  }
+}
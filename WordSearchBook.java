@@ -0,0 +1,195 @@
+import java.util.*;
+import java.util.random.*;
+import java.util.stream.*;
+import java.io.*;
+import java.nio.charset.*;
+
+/**A book of puzzles made from one word list, with every word listed in
+ *exactly one puzzle. The list is split with the longest words dealt first,
+ *each to the puzzle with the fewest letters so far, so every puzzle gets
+ *about the same number of letters. The puzzles are then generated on all
+ *available cores, puzzle i with seed firstSeed + i.
+ *
+ *A word its puzzle could not place is not dropped: it is offered to the
+ *other puzzles, emptiest first, and written into the first one that has
+ *room for it (see PuzzleEditor). Only words that fit in no puzzle at all
+ *are left over, and getUnplaced lists them. Whether a puzzle placed a word
+ *is read from its placements, since a strategy can write a word without
+ *listing it (see RandomPlacement); such a word stays where it is and is
+ *listed there, unless listing it would show it spelled twice, in which case
+ *it is rerouted like a word that was not placed.
+ */
+public class WordSearchBook {
+  /**Random positions tried for a left over word in each other puzzle*/
+  private static final int REROUTE_TRIES = 1000;
+
+  private WordSearch[] puzzles;
+  private List<List<String>> lists;
+  private Map<String, Integer> rerouted;
+  private List<String> unplaced;
+
+  public WordSearchBook(int rows, int cols, List<String> words, int puzzleCount, int firstSeed, boolean key) {
+    this(rows, cols, words, puzzleCount, firstSeed, key, new WordSearchOptions());
+  }
+
+  /**@param rows is the height of every puzzle
+   *@param cols is the width of every puzzle
+   *@param words is the word list to split; duplicates are only used once
+   *@param puzzleCount is the number of puzzles in the book
+   *@param firstSeed is the seed of the first puzzle
+   *@param key dictates whether the random letters should be omitted
+   *@param options are shared by every puzzle, and must not name a grid file
+   */
+  public WordSearchBook(int rows, int cols, List<String> words, int puzzleCount, int firstSeed, boolean key, WordSearchOptions options) {
+    if (puzzleCount < 1) {
+      throw new IllegalArgumentException("A book needs at least one puzzle!");
+    }
+    if (options.getGridFile() != null) {
+      throw new IllegalArgumentException("The puzzles of a book cannot share one grid file!");
+    }
+    lists = split(new ArrayList<String>(new LinkedHashSet<String>(words)), puzzleCount);
+    //one alphabet for the whole list, so any puzzle can take any word
+    WordSearchOptions shared = options.getAlphabet() != null ? options
+      : new WordSearchOptions(options).setAlphabet(Alphabet.forWords(words));
+    puzzles = IntStream.range(0, puzzleCount)
+      .parallel()
+      .mapToObj(i -> new WordSearch(rows, cols, lists.get(i), firstSeed + i, key, shared))
+      .toArray(WordSearch[]::new);
+    reroute(new SplittableRandom(firstSeed));
+  }
+
+  /**Deals the words out longest first, each to the puzzle with the fewest
+   *letters so far (ties go to the earlier puzzle).
+   */
+  private static List<List<String>> split(List<String> words, int puzzleCount) {
+    //stable, so words of the same length keep their order
+    words.sort((a, b) -> Alphabet.length(b) - Alphabet.length(a));
+    List<List<String>> lists = new ArrayList<List<String>>();
+    PriorityQueue<int[]> loads = new PriorityQueue<int[]>((a, b) -> a[0] != b[0] ? a[0] - b[0] : a[1] - b[1]);
+    for (int i = 0; i < puzzleCount; i++) {
+      lists.add(new ArrayList<String>());
+      loads.add(new int[] {0, i});
+    }
+    for (String word : words) {
+      int[] emptiest = loads.poll();
+      lists.get(emptiest[1]).add(word);
+      emptiest[0] += Alphabet.length(word);
+      loads.add(emptiest);
+    }
+    return lists;
+  }
+
+  /**Offers every word a puzzle left out to the other puzzles, longest word
+   *first and emptiest puzzle first.
+   */
+  private void reroute(RandomGenerator randgen) {
+    List<String> leftOver = new ArrayList<String>();
+    List<Integer> from = new ArrayList<Integer>();
+    int[] letters = new int[puzzles.length];
+    PuzzleEditor[] editors = new PuzzleEditor[puzzles.length];
+    for (int i = 0; i < puzzles.length; i++) {
+      Map<String, Placement> written = new HashMap<String, Placement>();
+      for (Placement p : puzzles[i].getPlacements()) {
+        written.put(p.getWord(), p);
+      }
+      Set<String> added = new HashSet<String>(puzzles[i].getWordsAdded());
+      for (String word : lists.get(i)) {
+        Placement p = written.get(word);
+        if (p == null) {
+          leftOver.add(word);
+          from.add(i);
+          continue;
+        }
+        if (!added.contains(word)) {
+          if (editors[i] == null) {
+            editors[i] = new PuzzleEditor(puzzles[i]);
+          }
+          //the editor refuses it where listing it would show it twice, and
+          //then it is offered to the other puzzles like any other
+          if (!editors[i].addWord(word, p.getRow(), p.getCol(), p.getRowIncrement(), p.getColIncrement())) {
+            leftOver.add(word);
+            from.add(i);
+            continue;
+          }
+        }
+        letters[i] += Alphabet.length(word);
+      }
+    }
+    rerouted = new LinkedHashMap<String, Integer>();
+    unplaced = new ArrayList<String>();
+    Integer[] order = new Integer[puzzles.length];
+    for (int w = 0; w < leftOver.size(); w++) {
+      String word = leftOver.get(w);
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> letters[a] != letters[b] ? letters[a] - letters[b] : a - b);
+      boolean placed = false;
+      for (int k = 0; k < order.length && !placed; k++) {
+        int i = order[k];
+        if (i == from.get(w)) {
+          continue;
+        }
+        if (editors[i] == null) {
+          editors[i] = new PuzzleEditor(puzzles[i]);
+        }
+        if (editors[i].addWord(word, randgen, REROUTE_TRIES)) {
+          rerouted.put(word, i);
+          letters[i] += Alphabet.length(word);
+          placed = true;
+        }
+      }
+      if (!placed) {
+        unplaced.add(word);
+      }
+    }
+  }
+
+  /**@return the puzzles, in seed order*/
+  public List<WordSearch> getPuzzles() {
+    return Collections.unmodifiableList(Arrays.asList(puzzles));
+  }
+
+  /**@return the words each puzzle was dealt, before any were rerouted*/
+  public List<List<String>> getLists() {
+    return Collections.unmodifiableList(lists);
+  }
+
+  /**@return the words that were moved to another puzzle, with the index of
+   *the puzzle they ended up in
+   */
+  public Map<String, Integer> getRerouted() {
+    return Collections.unmodifiableMap(rerouted);
+  }
+
+  /**@return the words that are in no puzzle, because none had room for them*/
+  public List<String> getUnplaced() {
+    return Collections.unmodifiableList(unplaced);
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 5 || args.length > 6) {
+      System.out.println("usage: [rows] [cols] [filename] [puzzles] [firstSeed] [key]");
+      return;
+    }
+    try {
+      WordSearchBook book = new WordSearchBook(Integer.parseInt(args[0]), Integer.parseInt(args[1]), WordSearch.readWords(args[2]),
+                                               Integer.parseInt(args[3]), Integer.parseInt(args[4]), args.length == 6 && args[5].equals("key"));
+      PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+      for (WordSearch puzzle : book.getPuzzles()) {
+        PuzzleRenderer.render(puzzle, PuzzleRenderer.Format.TEXT, writer);
+        writer.println();
+        writer.println();
+      }
+      if (!book.getUnplaced().isEmpty()) {
+        writer.println("Unplaced: " + String.join(", ", book.getUnplaced()));
+      }
+      writer.flush();
+    } catch (IOException e) {
+      //a PrintWriter never throws
+      throw new UncheckedIOException(e);
+    } catch (IllegalArgumentException e) {
+      System.out.println("usage: [rows] [cols] [filename] [puzzles] [firstSeed] [key]");
+    }
+  }
+}
@@ -0,0 +1,107 @@
+import java.util.*;
+import java.nio.file.*;
+
+/**Everything about how a WordSearch is generated beyond its size, words,
+ *seed and key. The defaults reproduce the original behaviour, and each
+ *setter returns the options so they can be chained:
+ *new WordSearchOptions().setStrategy(new BacktrackingPlacement())
+ */
+public class WordSearchOptions {
+  private PlacementStrategy strategy = new RandomPlacement();
+  private Set<String> blocklist = new HashSet<String>();
+  private boolean collectMetrics;
+  private SeedFormat seedFormat = SeedFormat.V1;
+  private Path gridFile;
+  private Alphabet alphabet;
+
+  public WordSearchOptions() {
+  }
+
+  /**A copy of other, which can then be changed on its own.*/
+  public WordSearchOptions(WordSearchOptions other) {
+    strategy = other.strategy;
+    blocklist = new HashSet<String>(other.blocklist);
+    collectMetrics = other.collectMetrics;
+    seedFormat = other.seedFormat;
+    gridFile = other.gridFile;
+    alphabet = other.alphabet;
+  }
+
+  public PlacementStrategy getStrategy() {
+    return strategy;
+  }
+
+  /**@param strategy decides where each word goes*/
+  public WordSearchOptions setStrategy(PlacementStrategy strategy) {
+    if (strategy == null) {
+      throw new IllegalArgumentException("strategy must not be null!");
+    }
+    this.strategy = strategy;
+    return this;
+  }
+
+  public Set<String> getBlocklist() {
+    return Collections.unmodifiableSet(blocklist);
+  }
+
+  /**@param blocklist are words the random letters must never spell, in any
+   *direction
+   */
+  public WordSearchOptions setBlocklist(Collection<String> blocklist) {
+    this.blocklist = new HashSet<String>(blocklist);
+    return this;
+  }
+
+  public SeedFormat getSeedFormat() {
+    return seedFormat;
+  }
+
+  /**@param seedFormat decides how the seed drives the random numbers; V1
+   *(the default) reproduces puzzles made before formats existed
+   */
+  public WordSearchOptions setSeedFormat(SeedFormat seedFormat) {
+    if (seedFormat == null) {
+      throw new IllegalArgumentException("seedFormat must not be null!");
+    }
+    this.seedFormat = seedFormat;
+    return this;
+  }
+
+  public Path getGridFile() {
+    return gridFile;
+  }
+
+  /**@param gridFile is a file to keep the grid in (see MappedGrid) instead of
+   *the heap, or null (the default) for an ordinary Grid. The file is
+   *overwritten.
+   */
+  public WordSearchOptions setGridFile(Path gridFile) {
+    this.gridFile = gridFile;
+    return this;
+  }
+
+  public Alphabet getAlphabet() {
+    return alphabet;
+  }
+
+  /**@param alphabet is the letters the grid may hold and how often the fill
+   *uses each, or null (the default) to take them from the words (see
+   *Alphabet.forWords)
+   */
+  public WordSearchOptions setAlphabet(Alphabet alphabet) {
+    this.alphabet = alphabet;
+    return this;
+  }
+
+  public boolean getCollectMetrics() {
+    return collectMetrics;
+  }
+
+  /**@param collectMetrics decides whether WordSearch.getMetrics() counts
+   *attempts, rejections and timings; off by default
+   */
+  public WordSearchOptions setCollectMetrics(boolean collectMetrics) {
+    this.collectMetrics = collectMetrics;
+    return this;
+  }
+}
@@ -0,0 +1,242 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.charset.*;
+import com.sun.net.httpserver.*;
+
+/**Serves puzzles over HTTP so a single long-running JVM can generate them
+ *instead of starting one per puzzle.
+ *
+ *GET /puzzle?rows=15&cols=15&list=words.txt&seed=42[&key=true][&format=json]
+ *
+ *list is the file name of one of the word lists the server was started with,
+ *and format is text (the default), key, csv or json. Since a seed always
+ *gives the same puzzle, rendered puzzles are kept in an LRU cache bounded
+ *by the total size of the bodies, since one large puzzle can take as much
+ *memory as thousands of small ones.
+ *
+ *usage: java WordSearchServer [port] [wordfile...]
+ */
+public class WordSearchServer {
+  /**Puzzles larger than this are refused, so one request cannot exhaust the heap*/
+  private static final long MAX_CELLS = 4000000;
+
+  /**Bytes of rendered puzzles main keeps*/
+  private static final long CACHE_BYTES = 64L << 20;
+
+  private final Map<String, String> lists;
+  private final PuzzleCache cache;
+  private HttpServer server;
+
+  /**@param wordFiles are the word lists that can be requested, by file name
+   *@param cacheBytes is the total size of the rendered puzzles to keep
+   */
+  public WordSearchServer(List<String> wordFiles, long cacheBytes) {
+    lists = new HashMap<String, String>();
+    for (String file : wordFiles) {
+      lists.put(new File(file).getName(), file);
+    }
+    cache = new PuzzleCache(cacheBytes);
+  }
+
+  public void start(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/puzzle", this::handle);
+    server.setExecutor(executor());
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  /**@return the port the server is listening on*/
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**Runs each request on its own virtual thread where the JDK has them (21+),
+   *and on a cached thread pool otherwise.
+   */
+  private static ExecutorService executor() {
+    try {
+      Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService)virtual.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!exchange.getRequestMethod().equals("GET")) {
+        send(exchange, 405, "Only GET is supported\n");
+        return;
+      }
+      Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+      int rows = Integer.parseInt(required(params, "rows"));
+      int cols = Integer.parseInt(required(params, "cols"));
+      int seed = Integer.parseInt(required(params, "seed"));
+      boolean key = Boolean.parseBoolean(params.getOrDefault("key", "false"));
+      PuzzleRenderer.Format format = PuzzleRenderer.Format.valueOf(params.getOrDefault("format", "text").toUpperCase(Locale.ROOT));
+      String file = lists.get(required(params, "list"));
+      if (file == null) {
+        send(exchange, 404, "Unknown word list: " + params.get("list") + "\n");
+        return;
+      }
+      if (rows < 0 || cols < 0 || (long)rows * cols > MAX_CELLS) {
+        send(exchange, 400, "Puzzle must have at most " + MAX_CELLS + " cells\n");
+        return;
+      }
+      WordList words = WordList.load(file);
+      PuzzleKey puzzleKey = new PuzzleKey(rows, cols, words, seed, key, format);
+      byte[] body = cache.get(puzzleKey);
+      if (body == null) {
+        WordSearch puzzle = new WordSearch(rows, cols, words, seed, key);
+        StringBuilder out = new StringBuilder(PuzzleRenderer.estimateSize(puzzle));
+        PuzzleRenderer.render(puzzle, format, out);
+        if (format != PuzzleRenderer.Format.JSON && format != PuzzleRenderer.Format.CSV) {
+          out.append('\n');
+        }
+        body = out.toString().getBytes(StandardCharsets.UTF_8);
+        cache.put(puzzleKey, body);
+      }
+      send(exchange, 200, contentType(format), body);
+    } catch (IllegalArgumentException e) {
+      send(exchange, 400, "usage: /puzzle?rows=&cols=&list=&seed=[&key=][&format=] (" + e.getMessage() + ")\n");
+    } catch (IOException e) {
+      send(exchange, 500, "Could not read word list\n");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static String required(Map<String, String> params, String name) {
+    String value = params.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("missing " + name);
+    }
+    return value;
+  }
+
+  private static Map<String, String> parseQuery(String query) {
+    Map<String, String> params = new HashMap<String, String>();
+    if (query == null) {
+      return params;
+    }
+    for (String pair : query.split("&")) {
+      int split = pair.indexOf('=');
+      if (split > 0) {
+        params.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                   URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return params;
+  }
+
+  private static String contentType(PuzzleRenderer.Format format) {
+    switch (format) {
+      case JSON:
+        return "application/json; charset=utf-8";
+      case CSV:
+        return "text/csv; charset=utf-8";
+      default:
+        return "text/plain; charset=utf-8";
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, String message) throws IOException {
+    send(exchange, status, "text/plain; charset=utf-8", message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, body.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(body);
+    out.close();
+  }
+
+  /**Everything that decides what a response looks like. The word list is
+   *compared by identity: WordList.load returns the same object until the
+   *file changes, and a changed file must not hit puzzles made from the old one.
+   */
+  private static class PuzzleKey {
+    private final int rows;
+    private final int cols;
+    private final WordList words;
+    private final int seed;
+    private final boolean key;
+    private final PuzzleRenderer.Format format;
+
+    PuzzleKey(int rows, int cols, WordList words, int seed, boolean key, PuzzleRenderer.Format format) {
+      this.rows = rows;
+      this.cols = cols;
+      this.words = words;
+      this.seed = seed;
+      this.key = key;
+      this.format = format;
+    }
+
+    public boolean equals(Object other) {
+      if (!(other instanceof PuzzleKey)) {
+        return false;
+      }
+      PuzzleKey k = (PuzzleKey)other;
+      return rows == k.rows && cols == k.cols && words == k.words && seed == k.seed && key == k.key && format == k.format;
+    }
+
+    public int hashCode() {
+      return Objects.hash(rows, cols, System.identityHashCode(words), seed, key, format);
+    }
+  }
+
+  /**A least recently used cache of rendered puzzles, holding at most
+   *capacity bytes of bodies. A body larger than that is not kept at all.
+   */
+  private static class PuzzleCache {
+    private final LinkedHashMap<PuzzleKey, byte[]> entries;
+    private final long capacity;
+    private long bytes;
+
+    PuzzleCache(long capacity) {
+      entries = new LinkedHashMap<PuzzleKey, byte[]>(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    synchronized byte[] get(PuzzleKey key) {
+      return entries.get(key);
+    }
+
+    synchronized void put(PuzzleKey key, byte[] body) {
+      if (body.length > capacity) {
+        return;
+      }
+      byte[] old = entries.put(key, body);
+      bytes += body.length - (old == null ? 0 : old.length);
+      Iterator<byte[]> eldest = entries.values().iterator();
+      while (bytes > capacity) {
+        bytes -= eldest.next().length;
+        eldest.remove();
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.out.println("usage: [port] [wordfile...]");
+      return;
+    }
+    try {
+      WordSearchServer server = new WordSearchServer(Arrays.asList(args).subList(1, args.length), CACHE_BYTES);
+      server.start(Integer.parseInt(args[0]));
+      System.out.println("Serving puzzles on http://localhost:" + server.getPort() + "/puzzle");
+    } catch (IOException e) {
+      System.out.println("Could not start server: " + e.getMessage());
+    } catch (IllegalArgumentException e) {
+      System.out.println("usage: [port] [wordfile...]");
+    }
+  }
+}
@@ -0,0 +1,480 @@
+import java.util.*;
+import java.io.*;
+
+/**Finds every occurrence of a dictionary's words in a finished grid. All the
+ *words, and each word spelled backwards, go into one Aho-Corasick automaton,
+ *so each row, column and diagonal is read once (forwards only) no matter how
+ *many words there are. A backwards match is reported as the word running in
+ *the opposite direction. A one letter word reads the same along every axis,
+ *so it is only reported along the first (running right).
+ */
+public class WordSearchSolver {
+  /**The 4 directions that are scanned; the other 4 are found as backwards
+   *matches along these.
+   */
+  private static final int[] ROW_AXES = {0, 1, 1, 1};
+  private static final int[] COL_AXES = {1, 0, 1, -1};
+
+  //the automaton: node 0 is the root and, once built, nodes are numbered
+  //breadth first. Children are found through one open addressing table of
+  //(node * radix + letter, child) pairs, where radix is one more than the
+  //size of the alphabet (27 for A-Z)
+  private final Alphabet alphabet;
+  private final int radix;
+  private int[] children;
+  private int childCount;
+  private int nodes;
+  private int[] fail;
+  private int[] depth;
+  private int[] output;
+  private int[] outputLink;
+
+  //nodes near the root are visited on almost every step, so their complete
+  //transitions (failure links already followed) are kept in a flat table,
+  //dense[node * radix + letter]. Breadth first numbering puts all of them
+  //below denseNodes. Large alphabets have far more such nodes, so the table
+  //stops growing at MAX_DENSE entries and deeper nodes use the hash table
+  private static final int DENSE_DEPTH = 3;
+  private static final int MAX_DENSE = 1 << 22;
+  private int[] dense;
+  private int denseNodes;
+
+  //the patterns: output[node] is the first pattern ending at node, and
+  //patternNext chains any others (a word that is another word backwards)
+  private ArrayList<String> words;
+  private ArrayList<Boolean> reversed;
+  private int[] patternNext;
+  private int maxLength;
+
+  //only needed while building
+  private int[] parent;
+  private byte[] letter;
+  private int[] firstChild;
+  private int[] nextSibling;
+
+  /**Builds the automaton for a dictionary. Words containing anything other
+   *than A-Z can never be in a grid and are ignored.
+   */
+  public WordSearchSolver(Collection<String> dictionary) {
+    this(dictionary, Alphabet.LATIN);
+  }
+
+  /**Builds the automaton for a dictionary of words spelt in the given
+   *alphabet; words with any other symbol are ignored.
+   */
+  public WordSearchSolver(Collection<String> dictionary, Alphabet alphabet) {
+    this.alphabet = alphabet;
+    radix = alphabet.size() + 1;
+    children = new int[4096];
+    Arrays.fill(children, -1);
+    parent = new int[1024];
+    letter = new byte[1024];
+    firstChild = new int[1024];
+    nextSibling = new int[1024];
+    output = new int[1024];
+    nodes = 1;
+    firstChild[0] = -1;
+    output[0] = -1;
+    words = new ArrayList<String>();
+    reversed = new ArrayList<Boolean>();
+    patternNext = new int[16];
+    Set<String> seen = new HashSet<String>();
+    for (String word : dictionary) {
+      int[] codes = alphabet.encode(word);
+      if (word.isEmpty() || codes == null || !seen.add(word)) {
+        continue;
+      }
+      addPattern(word, codes, false);
+      //reverse keeps surrogate pairs together
+      String backwards = new StringBuilder(word).reverse().toString();
+      if (!backwards.equals(word)) {
+        addPattern(word, codes, true);
+      }
+    }
+    buildLinks();
+    parent = null;
+    letter = null;
+    firstChild = null;
+    nextSibling = null;
+  }
+
+  private void addPattern(String word, int[] codes, boolean backwards) {
+    int node = 0;
+    for (int i = 0; i < codes.length; i++) {
+      int code = codes[backwards ? codes.length - 1 - i : i];
+      int child = child(node, code);
+      if (child < 0) {
+        child = newNode(node, code);
+      }
+      node = child;
+    }
+    int pattern = words.size();
+    maxLength = Math.max(maxLength, codes.length);
+    words.add(word);
+    reversed.add(backwards);
+    if (pattern == patternNext.length) {
+      patternNext = Arrays.copyOf(patternNext, pattern * 2);
+    }
+    patternNext[pattern] = output[node];
+    output[node] = pattern;
+  }
+
+  private int newNode(int from, int code) {
+    if ((long)nodes * radix + radix - 1 > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Dictionary is too large!");
+    }
+    if (nodes == parent.length) {
+      int capacity = nodes * 2;
+      parent = Arrays.copyOf(parent, capacity);
+      letter = Arrays.copyOf(letter, capacity);
+      firstChild = Arrays.copyOf(firstChild, capacity);
+      nextSibling = Arrays.copyOf(nextSibling, capacity);
+      output = Arrays.copyOf(output, capacity);
+    }
+    int node = nodes;
+    nodes++;
+    parent[node] = from;
+    letter[node] = (byte)code;
+    firstChild[node] = -1;
+    output[node] = -1;
+    nextSibling[node] = firstChild[from];
+    firstChild[from] = node;
+    putChild(from * radix + code, node);
+    return node;
+  }
+
+  private int child(int node, int code) {
+    int key = node * radix + code;
+    int mask = children.length / 2 - 1;
+    for (int i = hash(key) & mask; children[i * 2] != -1; i = (i + 1) & mask) {
+      if (children[i * 2] == key) {
+        return children[i * 2 + 1];
+      }
+    }
+    return -1;
+  }
+
+  private void putChild(int key, int node) {
+    if (childCount * 4 >= children.length) {
+      int[] old = children;
+      children = new int[old.length * 2];
+      Arrays.fill(children, -1);
+      childCount = 0;
+      for (int i = 0; i < old.length; i += 2) {
+        if (old[i] != -1) {
+          putChild(old[i], old[i + 1]);
+        }
+      }
+    }
+    int mask = children.length / 2 - 1;
+    int i = hash(key) & mask;
+    while (children[i * 2] != -1) {
+      i = (i + 1) & mask;
+    }
+    children[i * 2] = key;
+    children[i * 2 + 1] = node;
+    childCount++;
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**Renumbers the nodes breadth first, then computes the failure links,
+   *output links and the dense table for the nodes near the root.
+   */
+  private void buildLinks() {
+    int[] order = new int[nodes];
+    int[] depth = new int[nodes];
+    this.depth = new int[nodes];
+    int tail = 1;
+    denseNodes = 1;
+    for (int head = 0; head < tail; head++) {
+      int node = order[head];
+      if (depth[node] <= DENSE_DEPTH && (long)(head + 1) * radix <= MAX_DENSE) {
+        denseNodes = head + 1;
+      }
+      for (int c = firstChild[node]; c >= 0; c = nextSibling[c]) {
+        depth[c] = depth[node] + 1;
+        order[tail] = c;
+        tail++;
+      }
+    }
+    int[] renumber = new int[nodes];
+    for (int i = 0; i < nodes; i++) {
+      renumber[order[i]] = i;
+    }
+    int[] oldOutput = output;
+    output = new int[nodes];
+    children = new int[children.length];
+    Arrays.fill(children, -1);
+    childCount = 0;
+    for (int i = 0; i < nodes; i++) {
+      output[i] = oldOutput[order[i]];
+      this.depth[i] = depth[order[i]];
+      if (i > 0) {
+        putChild(renumber[parent[order[i]]] * radix + (letter[order[i]] & 0xFF), i);
+      }
+    }
+
+    fail = new int[nodes];
+    outputLink = new int[nodes];
+    dense = new int[denseNodes * radix];
+    outputLink[0] = -1;
+    for (int node = 0; node < nodes; node++) {
+      if (node > 0) {
+        //the failure link of a child of the root is the root
+        int code = letter[order[node]] & 0xFF;
+        int f = renumber[parent[order[node]]];
+        int next = -1;
+        while (next < 0 && f != 0) {
+          f = fail[f];
+          next = child(f, code);
+        }
+        fail[node] = next < 0 || next == node ? 0 : next;
+        outputLink[node] = output[fail[node]] >= 0 ? fail[node] : outputLink[fail[node]];
+      }
+      if (node < denseNodes) {
+        for (int code = 1; code < radix; code++) {
+          int next = child(node, code);
+          if (next < 0) {
+            next = node == 0 ? 0 : dense[fail[node] * radix + code];
+          }
+          dense[node * radix + code] = next;
+        }
+      }
+    }
+  }
+
+  /**@return the state after reading one more cell; empty cells and anything
+   *that is not a letter send the automaton back to the root
+   */
+  private int step(int state, int code) {
+    if (code <= 0) {
+      return 0;
+    }
+    while (state >= denseNodes) {
+      int next = child(state, code);
+      if (next >= 0) {
+        return next;
+      }
+      state = fail[state];
+    }
+    return dense[state * radix + code];
+  }
+
+  /**@return every occurrence of every dictionary word in the puzzle*/
+  public List<Placement> solve(WordSearch puzzle) {
+    Grid grid = puzzle.getGrid();
+    if (!grid.getAlphabet().equals(alphabet)) {
+      //the codes mean other letters here, so translate them first
+      Grid cells = new Grid(grid.getRows(), grid.getCols(), alphabet);
+      for (int i = 0; i < grid.size(); i++) {
+        cells.setCode(i, Math.max(alphabet.encode(grid.decode(grid.getCode(i))), 0));
+      }
+      grid = cells;
+    }
+    return solve(grid);
+  }
+
+  /**@param grid is a rectangular grid of letters; any other character (such
+   *as '_' or ' ') is treated as an empty cell
+   *@return every occurrence of every dictionary word in the grid
+   */
+  public List<Placement> solve(char[][] grid) {
+    int rows = grid.length;
+    int cols = rows == 0 ? 0 : grid[0].length;
+    Grid cells = new Grid(rows, cols, alphabet);
+    for (int i = 0; i < rows; i++) {
+      if (grid[i].length != cols) {
+        throw new IllegalArgumentException("Grid is not rectangular!");
+      }
+      for (int j = 0; j < cols; j++) {
+        cells.setCode(i * cols + j, Math.max(alphabet.encode(grid[i][j]), 0));
+      }
+    }
+    return solve(cells);
+  }
+
+  private List<Placement> solve(Grid cells) {
+    int rows = cells.getRows();
+    int cols = cells.getCols();
+    List<Placement> hits = new ArrayList<Placement>();
+    for (int axis = 0; axis < 4; axis++) {
+      int dRow = ROW_AXES[axis];
+      int dCol = COL_AXES[axis];
+      //every line along this axis starts on the top row or on the first
+      //column it enters from (the left for dCol = 1, the right for dCol = -1)
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          boolean start = row - dRow < 0 || col - dCol < 0 || col - dCol >= cols;
+          if (start) {
+            scanLine(cells, rows, cols, row, col, axis, hits);
+          }
+        }
+      }
+    }
+    return hits;
+  }
+
+  private void scanLine(Grid cells, int rows, int cols, int row, int col, int axis, List<Placement> hits) {
+    int dRow = ROW_AXES[axis];
+    int dCol = COL_AXES[axis];
+    int state = 0;
+    for (int t = 0; row >= 0 && row < rows && col >= 0 && col < cols; t++, row += dRow, col += dCol) {
+      state = step(state, cells.getCode(row * cols + col) & 0xFF);
+      int node = output[state] >= 0 ? state : outputLink[state];
+      while (node > 0) {
+        for (int p = output[node]; p >= 0; p = patternNext[p]) {
+          String word = words.get(p);
+          int back = Alphabet.length(word) - 1;
+          if (back == 0 && axis > 0) {
+            continue;
+          }
+          if (reversed.get(p)) {
+            hits.add(new Placement(word, row, col, -dRow, -dCol));
+          } else {
+            hits.add(new Placement(word, row - back * dRow, col - back * dCol, dRow, dCol));
+          }
+        }
+        node = outputLink[node];
+      }
+    }
+  }
+
+  /**Checks whether any word of the dictionary, in any direction, runs
+   *through one cell of a grid. Only the unbroken run of letters within the
+   *longest word's length either side of the cell is read, once per axis, so
+   *the cost does not depend on the size of the dictionary.
+   *@param grid must use the same alphabet as the dictionary
+   *@param index is the cell (row * cols + col) that was just changed
+   */
+  boolean spellsWordThrough(Grid grid, int index) {
+    return findThrough(grid, index, null);
+  }
+
+  /**@return every occurrence of a dictionary word, in any direction, that
+   *runs through one cell of a grid, read as spellsWordThrough reads it
+   */
+  List<Placement> findThrough(Grid grid, int index) {
+    List<Placement> hits = new ArrayList<Placement>();
+    findThrough(grid, index, hits);
+    return hits;
+  }
+
+  /**@param hits collects the matches, or is null to stop at the first one
+   *@return whether there was a match
+   */
+  private boolean findThrough(Grid grid, int index, List<Placement> hits) {
+    if (maxLength == 0 || grid.getCode(index) == Grid.EMPTY) {
+      return false;
+    }
+    boolean found = false;
+    int rows = grid.getRows();
+    int cols = grid.getCols();
+    int row = index / cols;
+    int col = index % cols;
+    for (int axis = 0; axis < 4; axis++) {
+      int dRow = ROW_AXES[axis];
+      int dCol = COL_AXES[axis];
+      //how far back the run of letters through this cell goes
+      int back = 0;
+      int r = row - dRow;
+      int c = col - dCol;
+      while (back < maxLength - 1 && r >= 0 && r < rows && c >= 0 && c < cols && grid.getCode(r * cols + c) != Grid.EMPTY) {
+        back++;
+        r -= dRow;
+        c -= dCol;
+      }
+      int state = 0;
+      r += dRow;
+      c += dCol;
+      for (int t = 0; t < back + maxLength && r >= 0 && r < rows && c >= 0 && c < cols; t++, r += dRow, c += dCol) {
+        int code = grid.getCode(r * cols + c) & 0xFF;
+        if (code == Grid.EMPTY) {
+          break;
+        }
+        state = step(state, code);
+        if (t >= back) {
+          //a match ending here covers the cell if it is at least this long
+          int needed = t - back + 1;
+          if (depth[state] < needed) {
+            //and no later match can be long enough either
+            break;
+          }
+          int node = output[state] >= 0 ? state : outputLink[state];
+          if (node > 0 && depth[node] >= needed) {
+            if (hits == null) {
+              return true;
+            }
+            found = true;
+            //the output links get shorter, so stop at the first too short
+            for (; node > 0 && depth[node] >= needed; node = outputLink[node]) {
+              for (int p = output[node]; p >= 0; p = patternNext[p]) {
+                String word = words.get(p);
+                int last = Alphabet.length(word) - 1;
+                if (last == 0 && axis > 0) {
+                  continue;
+                }
+                if (reversed.get(p)) {
+                  hits.add(new Placement(word, r, c, -dRow, -dCol));
+                } else {
+                  hits.add(new Placement(word, r - last * dRow, c - last * dCol, dRow, dCol));
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**Reads a grid printed by WordSearch (rows between '|' bars, letters
+   *separated by spaces) or plain rows of letters. Reading stops at the
+   *"Words:" line or the first blank line after the grid.
+   */
+  public static char[][] parse(List<String> lines) {
+    List<char[]> rows = new ArrayList<char[]>();
+    for (String line : lines) {
+      if (line.startsWith("Words:") || line.trim().isEmpty() && !rows.isEmpty()) {
+        break;
+      }
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      if (line.startsWith("|")) {
+        int end = line.lastIndexOf('|');
+        char[] row = new char[end / 2];
+        for (int j = 0; j < row.length; j++) {
+          row[j] = line.charAt(j * 2 + 1);
+        }
+        rows.add(row);
+      } else {
+        rows.add(line.replace(" ", "").toCharArray());
+      }
+    }
+    return rows.toArray(new char[rows.size()][]);
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.out.println("usage: [puzzlefile] [wordfile]");
+      return;
+    }
+    try {
+      char[][] grid = parse(java.nio.file.Files.readAllLines(new File(args[0]).toPath()));
+      List<String> words = WordSearch.readWords(args[1]);
+      WordSearchSolver solver = new WordSearchSolver(words, Alphabet.forWords(words));
+      List<Placement> hits = solver.solve(grid);
+      for (int i = 0; i < hits.size(); i++) {
+        System.out.println(hits.get(i));
+      }
+    } catch (IOException e) {
+      System.out.println("Could not read " + args[0]);
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,149 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**Pins the exact puzzles each seed makes, so a change meant to make
+ *generation faster cannot quietly make different puzzles. Each expected
+ *value is a CRC32 of rendered puzzles, worked out once from a known good
+ *build. A change that is meant to alter puzzles needs a new SeedFormat,
+ *not new values here: old seeds must keep giving the same puzzles.
+ */
+class GoldenOutputTest {
+  private static final int[] SEEDS = {0, 1, 2, 3, 7, 42, 99, 1234};
+  private static final int[][] SIZES = {{10, 10}, {15, 15}, {6, 20}, {20, 8}};
+
+  //words.txt with the default options, as printed by WordSearch.main: the
+  //puzzle and then its key for each size, one row per seed
+  private static final long[][] WORDS_TXT = {
+    {0x682ff776L, 0x9fe43bf1L, 0x4cbaa801L, 0x4b78f005L, 0x0b1320c2L, 0xc3cb435aL, 0x22fa627aL, 0x5e82f6f4L},
+    {0x9159f4d4L, 0x8ee0ebb9L, 0x615df770L, 0x36def5e7L, 0x9146a806L, 0x9dd6d66eL, 0xe5d7b4e1L, 0xcefc5311L},
+    {0x06074b8cL, 0x4e7ab28cL, 0x674d8922L, 0xf0b3842fL, 0xef0bade1L, 0x44bd426bL, 0xa530f9b4L, 0x562dfb31L},
+    {0x95b00f5bL, 0xfda371bbL, 0x3f7c9626L, 0xdf027b36L, 0xcba3d79dL, 0x316deaf4L, 0xdb6222baL, 0x558a2b06L},
+    {0x940da19cL, 0xa4f36ffcL, 0xf31787f3L, 0x0eb00157L, 0x87dbeac3L, 0x67e25704L, 0x54078d43L, 0x25e5de4fL},
+    {0xb24ed899L, 0x356d1fcbL, 0x64b73377L, 0x9e0ee8edL, 0xc5aa2145L, 0x6b23303bL, 0x4dd120ccL, 0xae299627L},
+    {0x632d885bL, 0x7c082cc2L, 0xd1bade89L, 0xbc13e958L, 0x35d5488dL, 0xc4a1227aL, 0x4178000cL, 0x6eef163eL},
+    {0x41cfd46dL, 0x26aaad87L, 0xce965510L, 0x362a396dL, 0x2d1ba10aL, 0x653a7325L, 0xf3be4e20L, 0x6b7f98ccL},
+  };
+
+  //60 words of 3 to 12 random letters, written out so nothing outside the
+  //test can change them
+  private static final List<String> WORDS = Arrays.asList(
+    "TQIQCSMF", "CGCQ", "IHRWRJNECAWJ", "CHASQPIISZQ", "NTC", "YRNB", "ONIVIHPWC", "ZDMA", "WUZFBDAW",
+    "WXLHOLNDCJD", "CSCEVNE", "NYHEWHBIZ", "ABDA", "VASAQTQROKN", "EEB", "WYPOXWVR", "WRYUBLLKRIY", "MTLW",
+    "GGRDIJS", "RZD", "OIQE", "TSRIVXWTUOL", "FYEUSRHPMD", "ZEWMEWALTVBC", "CNNSKAC", "ICCKIHEMM", "VULUQNC",
+    "TNWOZOPZYWO", "MPIR", "SADSCEKGW", "ENQNFYEVJIOD", "VZTGMDEHPQIW", "GHOKBG", "EGJ", "NGG", "GQYCPRTJ",
+    "ELBRYTPNQ", "XKFKNIDFTEC", "LIJBPIMB", "WRLDGDACDEUO", "ZBT", "OIU", "GSXBUXNZLV", "MWJVMACDF",
+    "LUOTWNLCTSKT", "PWXQEMLJTD", "YCPR", "KGSIGWJQ", "JXKGNRJD", "TTMLGVJSCNGW", "NJHZBZC", "EBLDO", "JIXN",
+    "PNMHSXKN", "WBFIQEEDRQ", "RKJIFU", "MXTV", "PWUAAQOQOM", "KHRBKEHLNTI", "ZICDCN");
+
+  //every strategy in both seed formats, over 10 seeds and 3 sizes each
+  private static final String[] STRATEGIES = {"random", "backtracking", "tiled", "slot", "difficulty"};
+  private static final long[][] BY_STRATEGY = {
+    {0x03f38cf4L, 0x66dc0839L},
+    {0xc722496aL, 0x1d37e839L},
+    {0x8eb34269L, 0xbad73636L},
+    {0xf4fbe132L, 0x9bbca3d2L},
+    {0xef9159e3L, 0xf1315380L},
+  };
+
+  //the bytes of ten saved puzzles, with and without keys and checksums
+  private static final long SAVED_BYTES = 0x76058f9bL;
+
+  //a Greek list in both seed formats
+  private static final long[] GREEK = {0xa3fb0075L, 0xdfbd6d0cL};
+
+  @Test
+  void wordsTxtPuzzlesAreUnchanged() throws IOException {
+    List<String> words = WordList.load("words.txt");
+    for (int s = 0; s < SEEDS.length; s++) {
+      for (int i = 0; i < SIZES.length; i++) {
+        for (int key = 0; key < 2; key++) {
+          WordSearch puzzle = new WordSearch(SIZES[i][0], SIZES[i][1], words, SEEDS[s], key == 1);
+          assertEquals(WORDS_TXT[s][i * 2 + key], crc(puzzle.toString()),
+                       "seed " + SEEDS[s] + ", " + SIZES[i][0] + "x" + SIZES[i][1] + (key == 1 ? " key" : ""));
+        }
+      }
+    }
+  }
+
+  @Test
+  void everyStrategyIsUnchanged() {
+    List<String> words = WORDS;
+    for (int i = 0; i < STRATEGIES.length; i++) {
+      for (SeedFormat format : SeedFormat.values()) {
+        CRC32 crc = new CRC32();
+        for (int seed = 0; seed < 10; seed++) {
+          for (int size : new int[] {10, 17, 30}) {
+            WordSearchOptions options = new WordSearchOptions().setStrategy(strategy(STRATEGIES[i])).setSeedFormat(format);
+            WordSearch puzzle = new WordSearch(size, size + seed % 3, words, seed, false, options);
+            update(crc, puzzle.toString());
+            update(crc, puzzle.getPlacements().toString());
+          }
+        }
+        assertEquals(BY_STRATEGY[i][format.ordinal()], crc.getValue(), STRATEGIES[i] + " " + format);
+      }
+    }
+  }
+
+  /**The saved form is pinned too, so old files keep loading.*/
+  @Test
+  void savedBytesAreUnchanged() {
+    List<String> words = WORDS.subList(0, 30);
+    CRC32 crc = new CRC32();
+    for (int seed = 0; seed < 10; seed++) {
+      WordSearchOptions options = new WordSearchOptions().setSeedFormat(SeedFormat.values()[seed % 2]);
+      WordSearch puzzle = new WordSearch(15, 12, words, seed, seed % 3 == 0, options);
+      byte[] bytes = PuzzleFile.toBytes(puzzle, seed % 2 == 0);
+      crc.update(bytes);
+      assertEquals(puzzle.toString(), PuzzleFile.read(ByteBuffer.wrap(bytes)).toString(), "seed " + seed);
+    }
+    assertEquals(SAVED_BYTES, crc.getValue());
+  }
+
+  /**A Greek list, so the alphabet's weighted fill is pinned as well.*/
+  @Test
+  void otherAlphabetsAreUnchanged() {
+    List<String> words = Arrays.asList("\u0391\u039B\u03A6\u0391", "\u0392\u0397\u03A4\u0391", "\u0393\u0391\u039C\u039C\u0391",
+                                       "\u0394\u0395\u039B\u03A4\u0391", "\u0396\u0397\u03A4\u0391", "\u0398\u0397\u03A4\u0391",
+                                       "\u039A\u0391\u03A0\u03A0\u0391", "\u039F\u039C\u0395\u0393\u0391");
+    for (SeedFormat format : SeedFormat.values()) {
+      CRC32 crc = new CRC32();
+      for (int seed = 0; seed < 10; seed++) {
+        WordSearch puzzle = new WordSearch(9, 9, words, seed, false, new WordSearchOptions().setSeedFormat(format));
+        update(crc, puzzle.toString());
+      }
+      assertEquals(GREEK[format.ordinal()], crc.getValue(), format.toString());
+    }
+  }
+
+  static PlacementStrategy strategy(String name) {
+    switch (name) {
+      case "random":
+        return new RandomPlacement();
+      case "backtracking":
+        return new BacktrackingPlacement();
+      case "tiled":
+        return new TiledPlacement();
+      case "slot":
+        return new SlotPlacement();
+      case "difficulty":
+        return new DifficultyPlacement(0.7);
+      default:
+        throw new IllegalArgumentException(name);
+    }
+  }
+
+  private static long crc(String text) {
+    CRC32 crc = new CRC32();
+    update(crc, text);
+    return crc.getValue();
+  }
+
+  private static void update(CRC32 crc, String text) {
+    crc.update(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,99 @@
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+import java.util.function.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**Fails when generating the reference puzzles gets much slower or allocates
+ *much more than it does now. Each case is warmed up, then run RUNS times;
+ *the median time and the average bytes allocated per run are compared with
+ *limits set well above what the code needs today (time about 5x, since
+ *machines differ, and bytes about 1.5x, since allocation does not). A
+ *deliberate slowdown should raise a limit in the same change, with a reason.
+ *
+ *The words are the first lines of test/words-1000.txt, random letters
+ *that stay the same whatever else changes.
+ *
+ *Tagged "performance" so quick runs can leave these out.
+ */
+@Tag("performance")
+class PerformanceGuardTest {
+  private static final int WARMUP = 20;
+  private static final int RUNS = 31;
+
+  private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+  @Test
+  void defaultPuzzle() throws IOException {
+    List<String> words = words(200);
+    guard("50x50 default", seed -> new WordSearch(50, 50, words, seed, false), 40, 800_000);
+  }
+
+  @Test
+  void largePuzzle() throws IOException {
+    List<String> words = words(200);
+    guard("200x200 default", seed -> new WordSearch(200, 200, words, seed, false), 80, 850_000);
+  }
+
+  @Test
+  void backtrackingPuzzle() throws IOException {
+    List<String> words = words(60);
+    WordSearchOptions options = new WordSearchOptions().setStrategy(new BacktrackingPlacement());
+    guard("30x30 backtracking", seed -> new WordSearch(30, 30, words, seed, false, options), 8, 500_000);
+  }
+
+  @Test
+  void slotPuzzle() throws IOException {
+    List<String> words = words(200);
+    WordSearchOptions options = new WordSearchOptions().setStrategy(new SlotPlacement());
+    guard("50x50 slot", seed -> new WordSearch(50, 50, words, seed, false, options), 30, 820_000);
+  }
+
+  /**Past SlotCache.MAX_CACHED_CELLS, where slots are drawn without a list.
+   *Only the placement is timed, so the key is made without a fill.
+   */
+  @Test
+  void uncachedSlotPuzzle() throws IOException {
+    List<String> words = words(200);
+    WordSearchOptions options = new WordSearchOptions().setStrategy(new SlotPlacement());
+    guard("300x300 slot", seed -> new WordSearch(300, 300, words, seed, true, options), 2, 175_000);
+  }
+
+  @Test
+  void solveLargePuzzle() throws IOException {
+    List<String> words = words(1000);
+    WordSearchSolver solver = new WordSearchSolver(words);
+    WordSearch puzzle = new WordSearch(200, 200, words.subList(0, 200), 1, false);
+    guard("200x200 solve", seed -> solver.solve(puzzle), 30, 120_000);
+  }
+
+  private static List<String> words(int count) throws IOException {
+    return WordList.load("test/words-1000.txt").subList(0, count);
+  }
+
+  /**Runs a case and checks it against its limits.
+   *@param run makes one puzzle from a seed; each run gets its own seed
+   */
+  private static void guard(String name, IntFunction<Object> run, double maxMillis, long maxBytes) {
+    THREADS.setThreadAllocatedMemoryEnabled(true);
+    int seed = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      assertNotNull(run.apply(seed++), name);
+    }
+    long[] times = new long[RUNS];
+    long bytes = 0;
+    for (int i = 0; i < RUNS; i++) {
+      long allocated = THREADS.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      assertNotNull(run.apply(seed++), name);
+      times[i] = System.nanoTime() - start;
+      bytes += THREADS.getCurrentThreadAllocatedBytes() - allocated;
+    }
+    Arrays.sort(times);
+    double millis = times[RUNS / 2] / 1e6;
+    String measured = String.format("%s: %.2f ms (limit %.0f), %d B (limit %d)", name, millis, maxMillis, bytes / RUNS, maxBytes);
+    assertTrue(millis <= maxMillis, measured);
+    assertTrue(bytes / RUNS <= maxBytes, measured);
+  }
+}
@@ -0,0 +1,243 @@
+import java.nio.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**Checks what must hold for every puzzle, over a few hundred random ones:
+ *random sizes, word lists, strategies, seed formats and alphabets. The
+ *cases are drawn from a fixed seed, so a failure always comes back the
+ *same way, and each message names the puzzle that broke.
+ *
+ *The other alphabets come from whole lists with a dozen or more letters.
+ *With only a few letters the fill can run out of letters that spell
+ *nothing (see Alphabet.fromWords), and then no check here could pass.
+ */
+class PlacementPropertyTest {
+  private static final int CASES = 300;
+
+  //no word is spelled inside another, forwards or backwards
+  private static final List<String> WORDS = Arrays.asList(
+    "ANCHOR", "BALLOON", "CACTUS", "DOLPHIN", "ELK", "FALCON", "GLACIER", "HARBOR", "IVY", "JIGSAW", "KETTLE",
+    "LANTERN", "MEADOW", "NUTMEG", "OWL", "PEBBLE", "QUARTZ", "RIBBON", "SADDLE", "TUNDRA", "UMBRELLA",
+    "VELVET", "WALRUS", "XYLOPHONE", "YAK", "ZEPHYR", "BUTTERSCOTCH", "CANYON", "DRIZZLE", "ECLIPSE", "FJORD",
+    "GRAVEL", "HUMMINGBIRD", "INKWELL", "JUNGLE", "KIWI", "LOBSTER", "MAGNET", "PHOTOGRAPH", "THUNDERSTORM");
+
+  //A-Z words, German with umlauts, kana and Deseret (outside the BMP)
+  private static final List<List<String>> LISTS = Arrays.asList(
+    WORDS,
+    Arrays.asList("\u00C4PFEL", "\u00DCBUNG", "STRASSE", "M\u00C4DCHEN", "K\u00C4SE", "BR\u00DCCKE", "GR\u00D6SSE"),
+    Arrays.asList("\u3055\u304F\u3089", "\u3072\u3089\u304C\u306A", "\u30AB\u30BF\u30AB\u30CA", "\u3059\u3057",
+                  "\u3084\u307E", "\u3068\u3082\u3060\u3061", "\u306D\u3053"),
+    Arrays.asList("\uD801\uDC00\uD801\uDC01\uD801\uDC02", "\uD801\uDC03\uD801\uDC04\uD801\uDC05\uD801\uDC06", "\uD801\uDC07\uD801\uDC08\uD801\uDC07",
+                  "\uD801\uDC09\uD801\uDC0A\uD801\uDC0B\uD801\uDC0C\uD801\uDC0D", "\uD801\uDC0E\uD801\uDC0F\uD801\uDC10\uD801\uDC11", "AB\uD801\uDC00C"));
+
+  private static final String[] STRATEGIES = {"random", "backtracking", "tiled", "slot", "difficulty"};
+
+  @Test
+  void everyWordAddedIsInTheGrid() {
+    SplittableRandom cases = new SplittableRandom(2020);
+    for (int n = 0; n < CASES; n++) {
+      int rows = 4 + cases.nextInt(24);
+      int cols = 4 + cases.nextInt(24);
+      int seed = cases.nextInt();
+      boolean key = cases.nextInt(4) == 0;
+      int list = cases.nextInt(LISTS.size());
+      List<String> words = list == 0 ? sample(LISTS.get(0), cases) : LISTS.get(list);
+      List<String> blocklist = Arrays.asList("CAT", "DOG");
+      WordSearchOptions options = new WordSearchOptions()
+        .setStrategy(GoldenOutputTest.strategy(STRATEGIES[cases.nextInt(STRATEGIES.length)]))
+        .setSeedFormat(SeedFormat.values()[cases.nextInt(2)])
+        .setBlocklist(blocklist);
+      WordSearch puzzle = new WordSearch(rows, cols, words, seed, key, options);
+      String name = "case " + n + ": " + rows + "x" + cols + " seed " + seed + " " +
+        options.getStrategy().getClass().getName() + " " + options.getSeedFormat() + (key ? " key" : "");
+
+      //every listed word has a placement, and every placement spells its word
+      Set<String> placed = new HashSet<String>();
+      boolean[] covered = new boolean[rows * cols];
+      for (Placement p : puzzle.getPlacements()) {
+        assertEquals(p.getWord(), spelled(puzzle, p, covered), name + ", " + p);
+        placed.add(p.getWord());
+      }
+      for (String word : puzzle.getWordsAdded()) {
+        assertTrue(placed.contains(word), name + ", no placement for " + word);
+      }
+
+      //the solver finds every placement (a palindrome may be found the other way round)
+      List<String> dictionary = new ArrayList<String>(puzzle.getWordsAdded());
+      dictionary.addAll(blocklist);
+      WordSearchSolver solver = new WordSearchSolver(dictionary, puzzle.getAlphabet());
+      List<Placement> hits = solver.solve(puzzle);
+      Set<String> found = new HashSet<String>();
+      for (Placement hit : hits) {
+        found.add(hit.toString());
+      }
+      for (Placement p : puzzle.getPlacements()) {
+        if (puzzle.getWordsAdded().contains(p.getWord())) {
+          assertTrue(found.contains(p.toString()) || found.contains(reversed(p).toString()), name + ", solver missed " + p);
+        }
+      }
+
+      //random letters never spell a listed or blocked word, and a key leaves
+      //every cell no word covers empty
+      for (Placement hit : hits) {
+        assertEquals(hit.getWord(), spelled(puzzle, hit, null), name + ", " + hit);
+        boolean[] cells = new boolean[rows * cols];
+        spelled(puzzle, hit, cells);
+        for (int i = 0; i < cells.length; i++) {
+          assertFalse(cells[i] && !covered[i], name + ", random letters spell " + hit);
+        }
+      }
+      for (int i = 0; i < rows * cols; i++) {
+        boolean empty = puzzle.getCodePoint(i / cols, i % cols) == '_';
+        assertEquals(key && !covered[i], empty, name + ", cell " + i);
+      }
+
+      //and the puzzle survives a save and load
+      WordSearch loaded = PuzzleFile.read(ByteBuffer.wrap(PuzzleFile.toBytes(puzzle, true)));
+      assertEquals(puzzle.toString(), loaded.toString(), name + ", saved");
+      assertEquals(puzzle.getPlacements().toString(), loaded.getPlacements().toString(), name + ", saved placements");
+    }
+  }
+
+  /**After random edits every placement still spells its word, no word is
+   *spelled more often than once (or than it already was: words that cross
+   *can spell a copy of another word), and undoing them all restores the
+   *puzzle.
+   */
+  @Test
+  void editsCanBeUndone() {
+    SplittableRandom cases = new SplittableRandom(2021);
+    List<String> words = WORDS;
+    for (int n = 0; n < 50; n++) {
+      WordSearch puzzle = new WordSearch(15, 15, words.subList(0, 20), n, false);
+      String before = puzzle.toString();
+      Map<String, Integer> copiesBefore = copies(puzzle, words);
+      PuzzleEditor editor = new PuzzleEditor(puzzle);
+      int edits = 0;
+      for (int i = 0; i < 20; i++) {
+        List<String> added = puzzle.getWordsAdded();
+        boolean changed;
+        if (cases.nextBoolean() || added.isEmpty()) {
+          changed = editor.addWord(words.get(20 + cases.nextInt(20)), cases, 100);
+        } else {
+          changed = editor.removeWord(added.get(cases.nextInt(added.size())));
+        }
+        if (changed) {
+          edits++;
+        }
+      }
+      for (Placement p : puzzle.getPlacements()) {
+        assertEquals(p.getWord(), spelled(puzzle, p, null), "edit case " + n + ", " + p);
+      }
+      Map<String, Integer> copies = copies(puzzle, words);
+      for (String word : puzzle.getWordsAdded()) {
+        int allowed = Math.max(1, copiesBefore.getOrDefault(word, 0));
+        assertTrue(copies.get(word) <= allowed, "edit case " + n + ", " + copies.get(word) + " copies of " + word);
+      }
+      for (int i = 0; i < edits; i++) {
+        assertTrue(editor.undo(), "edit case " + n);
+      }
+      assertEquals(before, puzzle.toString(), "edit case " + n);
+    }
+  }
+
+  /**Every word of a book is listed by exactly one puzzle or left over. The
+   *books are tiny and their words use five letters, so words often cross,
+   *get written without being listed, and need rerouting.
+   */
+  @Test
+  void bookListsEveryWordOnce() {
+    SplittableRandom cases = new SplittableRandom(201);
+    for (int n = 0; n < 200; n++) {
+      Set<String> unique = new LinkedHashSet<String>();
+      int count = 10 + cases.nextInt(41);
+      while (unique.size() < count) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 2 + cases.nextInt(4); i > 0; i--) {
+          word.append((char)('A' + cases.nextInt(5)));
+        }
+        unique.add(word.toString());
+      }
+      List<String> words = new ArrayList<String>(unique);
+      WordSearchBook book = new WordSearchBook(5, 5, words, 2, n, false);
+      Map<String, Integer> listed = new HashMap<String, Integer>();
+      for (WordSearch puzzle : book.getPuzzles()) {
+        for (String word : puzzle.getWordsAdded()) {
+          listed.merge(word, 1, Integer::sum);
+        }
+      }
+      for (String word : book.getUnplaced()) {
+        listed.merge(word, 1, Integer::sum);
+      }
+      for (String word : words) {
+        assertEquals(1, (int)listed.getOrDefault(word, 0), "book " + n + ", " + word);
+      }
+      assertEquals(words.size(), listed.size(), "book " + n);
+    }
+  }
+
+  /**A one letter word is found once per cell it is in, not once per axis.*/
+  @Test
+  void oneLetterWordsAreFoundOnce() {
+    WordSearchSolver solver = new WordSearchSolver(Arrays.asList("A", "AB"));
+    List<Placement> hits = solver.solve(new char[][] {{'A', 'B'}, {'B', 'A'}});
+    int ones = 0;
+    for (Placement hit : hits) {
+      if (hit.getWord().equals("A")) {
+        ones++;
+      }
+    }
+    assertEquals(2, ones);
+    assertEquals(6, hits.size());
+  }
+
+  /**@return how many times the grid spells each of the words it spells*/
+  private static Map<String, Integer> copies(WordSearch puzzle, List<String> words) {
+    Map<String, Integer> copies = new HashMap<String, Integer>();
+    for (Placement hit : new WordSearchSolver(words).solve(puzzle)) {
+      copies.merge(hit.getWord(), 1, Integer::sum);
+    }
+    return copies;
+  }
+
+  /**Takes about half of a list, so the puzzles are not all alike.*/
+  private static List<String> sample(List<String> words, SplittableRandom randgen) {
+    List<String> sample = new ArrayList<String>();
+    for (String word : words) {
+      if (randgen.nextBoolean()) {
+        sample.add(word);
+      }
+    }
+    return sample;
+  }
+
+  /**Reads the letters under a placement.
+   *@param covered marks the cells read, or is null
+   *@return the letters, or null if the placement runs off the grid
+   */
+  private static String spelled(WordSearch puzzle, Placement p, boolean[] covered) {
+    StringBuilder letters = new StringBuilder();
+    int row = p.getRow();
+    int col = p.getCol();
+    for (int i = Alphabet.length(p.getWord()); i > 0; i--) {
+      if (row < 0 || row >= puzzle.getRows() || col < 0 || col >= puzzle.getCols()) {
+        return null;
+      }
+      letters.appendCodePoint(puzzle.getCodePoint(row, col));
+      if (covered != null) {
+        covered[row * puzzle.getCols() + col] = true;
+      }
+      row += p.getRowIncrement();
+      col += p.getColIncrement();
+    }
+    return letters.toString();
+  }
+
+  /**@return the same cells read from the other end*/
+  private static Placement reversed(Placement p) {
+    int last = Alphabet.length(p.getWord()) - 1;
+    return new Placement(p.getWord(), p.getRow() + last * p.getRowIncrement(), p.getCol() + last * p.getColIncrement(),
+                         -p.getRowIncrement(), -p.getColIncrement());
+  }
+}
@@ -0,0 +1,38 @@
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**Checks how a word list file is split into words, including whitespace
+ *that takes more than one byte in UTF-8.
+ */
+class WordListTest {
+  @Test
+  void splitsOnAnyWhitespace() throws IOException {
+    //ideographic space and em space, 3 bytes each
+    String text = "apple\u3000\u3055\u304F\u3089\u2003BR\u00DCCKE\u2003\uD801\uDC00\uD801\uDC01 \t\r\nzebra";
+    assertEquals(Arrays.asList("APPLE", "\u3055\u304F\u3089", "BR\u00DCCKE", "\uD801\uDC00\uD801\uDC01", "ZEBRA"), load(text));
+  }
+
+  @Test
+  void keepsFirstOfRepeatedWords() throws IOException {
+    assertEquals(Arrays.asList("ZEBRA", "APPLE"), load("  zebra\nAPPLE apple\u3000Zebra\n"));
+  }
+
+  @Test
+  void emptyFileHasNoWords() throws IOException {
+    assertEquals(Collections.emptyList(), load("\u3000 \n"));
+  }
+
+  private static List<String> load(String text) throws IOException {
+    Path file = Files.createTempFile("words", ".txt");
+    try {
+      Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+      return new ArrayList<String>(WordList.load(file.toString()));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}